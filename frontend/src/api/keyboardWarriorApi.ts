@@ -22,6 +22,20 @@ export const fetchRanking = async (): Promise<KeyboardWarrior[]> => {
     return res.data;
 };
 
+// 커서 기반 페이지 응답 (nextCursor 가 null 이면 마지막 페이지)
+export interface CursorPage<T> {
+    items: T[];
+    nextCursor: string | null;
+}
+
+// 닉네임/한마디 검색 (초성 검색 지원, 일치 정도 다음 랭킹 순) - 다음 페이지는 이전 응답의 nextCursor 로 조회
+export const searchWarriors = async (query: string, after?: string | null, limit = 20): Promise<CursorPage<KeyboardWarrior>> => {
+    const res = await axios.get('/api/keyboard-warriors/search', {
+        params: { q: query, limit, ...(after ? { after } : {}) }
+    });
+    return res.data;
+};
+
 // 업적 관련 인터페이스
 export interface Achievement {
     id: string;
@@ -127,12 +141,25 @@ export interface MatchRecord {
     pointsChange?: number;
 }
 
+export interface GameTypeStats {
+    totalMatches: number;
+    wins: number;
+    losses: number;
+    draws: number;
+    pointsChange: number;
+}
+
 export interface MatchStats {
     totalMatches: number;
     wins: number;
     losses: number;
     draws: number;
     winRate: number;
+    pointsGained?: number;
+    pointsLost?: number;
+    longestWinStreak?: number;
+    currentWinStreak?: number;
+    byGameType?: Record<string, GameTypeStats>;
 }
 
 // 배틀러별 전적 조회
@@ -1,18 +1,31 @@
 // src/pages/SearchPage.tsx
-import React, { useEffect, useState } from 'react';
-import { KeyboardWarrior, fetchWarriors, fetchRanking } from '../api/keyboardWarriorApi';
+import React, { useEffect, useRef, useState } from 'react';
+import { KeyboardWarrior, fetchWarriors, fetchRanking, searchWarriors } from '../api/keyboardWarriorApi';
 import SearchBar from '../components/SearchBar';
 import WarriorCard from '../components/WarriorCard';
 
 const SearchPage: React.FC = () => {
     const [warriors, setWarriors] = useState<KeyboardWarrior[]>([]);
     const [rankedWarriors, setRankedWarriors] = useState<KeyboardWarrior[]>([]);
+    const [browseLoaded, setBrowseLoaded] = useState(false);
     const [searchTerm, setSearchTerm] = useState('');
+    const [searchResults, setSearchResults] = useState<KeyboardWarrior[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [searching, setSearching] = useState(false);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
     const [showRanking, setShowRanking] = useState(false);
 
+    const query = searchTerm.trim();
+    const isSearching = query.length > 0;
+    const latestQuery = useRef(query); // 늦게 도착한 이전 검색어의 응답을 버리기 위해 사용
+    latestQuery.current = query;
+
+    // 티어별/랭킹 보기용 전체 목록 - 검색 중에는 받지 않고, 검색어가 없을 때 한 번만 받음
     useEffect(() => {
+        if (isSearching || browseLoaded) {
+            return;
+        }
         const loadWarriors = async () => {
             try {
                 setLoading(true);
@@ -23,6 +36,7 @@ const SearchPage: React.FC = () => {
                 ]);
                 setWarriors(warriorsData);
                 setRankedWarriors(rankingData);
+                setBrowseLoaded(true);
             } catch (err) {
                 setError('데이터를 불러오는 중 오류가 발생했습니다.');
                 console.error('Error fetching warriors:', err);
@@ -32,10 +46,13 @@ const SearchPage: React.FC = () => {
         };
 
         loadWarriors();
-    }, []);
+    }, [isSearching, browseLoaded]);
 
-    // 실시간 랭킹 폴링 (5초마다)
+    // 실시간 랭킹 폴링 (5초마다, 랭킹 보기 중일 때만)
     useEffect(() => {
+        if (isSearching || !showRanking) {
+            return;
+        }
         const interval = setInterval(async () => {
             try {
                 const rankingData = await fetchRanking();
@@ -46,7 +63,52 @@ const SearchPage: React.FC = () => {
         }, 5000); // 5초마다
 
         return () => clearInterval(interval);
-    }, []);
+    }, [isSearching, showRanking]);
+
+    // 검색어가 바뀌면 잠시 기다렸다가 서버에서 첫 페이지 검색 (초성 검색 지원)
+    useEffect(() => {
+        setSearchResults([]);
+        setNextCursor(null);
+        if (!query) {
+            return;
+        }
+        const timer = setTimeout(async () => {
+            try {
+                setSearching(true);
+                const page = await searchWarriors(query);
+                if (latestQuery.current === query) {
+                    setSearchResults(page.items);
+                    setNextCursor(page.nextCursor);
+                }
+            } catch (err) {
+                console.error('Error searching warriors:', err);
+            } finally {
+                setSearching(false);
+            }
+        }, 200);
+
+        return () => clearTimeout(timer);
+    }, [query]);
+
+    // 검색 결과 다음 페이지
+    const loadMoreResults = async () => {
+        if (!nextCursor || searching) {
+            return;
+        }
+        const requested = query;
+        try {
+            setSearching(true);
+            const page = await searchWarriors(requested, nextCursor);
+            if (latestQuery.current === requested) {
+                setSearchResults(prev => [...prev, ...page.items]);
+                setNextCursor(page.nextCursor);
+            }
+        } catch (err) {
+            console.error('Error searching warriors:', err);
+        } finally {
+            setSearching(false);
+        }
+    };
 
     // 티어 순서 정의
     const tierOrder = ['SS', 'S', 'A', 'B', 'C', 'D'];
@@ -77,25 +139,16 @@ const SearchPage: React.FC = () => {
         }
     };
 
-    // 검색 필터링
-    const filteredWarriors = warriors.filter(warrior =>
-        warrior.nickname.toLowerCase().includes(searchTerm.toLowerCase())
-    );
-
-    const filteredRankedWarriors = rankedWarriors.filter(warrior =>
-        warrior.nickname.toLowerCase().includes(searchTerm.toLowerCase())
-    );
-
     // 티어별로 그룹화
     const groupedWarriors = tierOrder.reduce((acc, tier) => {
-        const tierWarriors = filteredWarriors.filter(warrior => warrior.tier === tier);
+        const tierWarriors = warriors.filter(warrior => warrior.tier === tier);
         if (tierWarriors.length > 0) {
             acc[tier] = tierWarriors.sort((a, b) => b.points - a.points); // 포인트 높은 순으로 정렬
         }
         return acc;
     }, {} as Record<string, KeyboardWarrior[]>);
 
-    if (loading) {
+    if (loading && !isSearching) {
         return (
             <div className="min-h-screen flex items-center justify-center">
                 <div className="text-center">
@@ -106,7 +159,7 @@ const SearchPage: React.FC = () => {
         );
     }
 
-    if (error) {
+    if (error && !isSearching) {
         return (
             <div className="min-h-screen flex items-center justify-center">
                 <div className="text-center">
@@ -142,19 +195,41 @@ const SearchPage: React.FC = () => {
             
             <SearchBar searchTerm={searchTerm} setSearchTerm={setSearchTerm} />
             
-            {searchTerm && (
-                <p className="text-gray-400 mb-6 text-center">
-                    "{searchTerm}" 검색 결과: {showRanking ? filteredRankedWarriors.length : filteredWarriors.length}명
-                </p>
-            )}
-            
-            {/* 실시간 랭킹 표시 */}
-            {showRanking ? (
+            {/* 검색 결과 (서버에서 페이지 단위로 받아 순서대로 표시) */}
+            {isSearching ? (
+                <div className="space-y-6">
+                    <p className="text-gray-400 text-center">
+                        "{query}" 검색 결과: {searchResults.length}명{nextCursor ? ' 이상' : ''}
+                    </p>
+                    {searchResults.length > 0 ? (
+                        <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-4">
+                            {searchResults.map(warrior => (
+                                <WarriorCard key={warrior.id} warrior={warrior} />
+                            ))}
+                        </div>
+                    ) : !searching && (
+                        <div className="text-center py-12">
+                            <p className="text-gray-400 text-lg">검색 결과가 없습니다.</p>
+                        </div>
+                    )}
+                    {nextCursor && (
+                        <div className="flex justify-center">
+                            <button
+                                onClick={loadMoreResults}
+                                disabled={searching}
+                                className="bg-gray-700 text-gray-300 px-6 py-3 rounded-lg font-semibold hover:bg-gray-600 transition-colors disabled:opacity-50"
+                            >
+                                {searching ? '불러오는 중...' : '더 보기'}
+                            </button>
+                        </div>
+                    )}
+                </div>
+            ) : showRanking ? (
                 <div className="space-y-4">
                     <div className="bg-gradient-to-r from-yellow-900/20 to-yellow-800/10 border border-yellow-500/30 rounded-lg p-6 shadow-lg">
                         <div className="flex items-center justify-between mb-6">
                             <h2 className="text-3xl font-bold text-yellow-400">
-                                🏆 실시간 랭킹 ({filteredRankedWarriors.length}명)
+                                🏆 실시간 랭킹 ({rankedWarriors.length}명)
                             </h2>
                             <div className="text-sm text-yellow-400 bg-black/20 px-3 py-1 rounded-full animate-pulse">
                                 실시간 업데이트 중...
@@ -162,7 +237,7 @@ const SearchPage: React.FC = () => {
                         </div>
                         
                         <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-4">
-                            {filteredRankedWarriors.map((warrior, index) => (
+                            {rankedWarriors.map((warrior, index) => (
                                 <div key={warrior.id} className="relative">
                                     {/* 순위 배지 */}
                                     <div className="absolute -top-2 -left-2 z-10">
@@ -215,7 +290,7 @@ const SearchPage: React.FC = () => {
                 ) : (
                     <div className="text-center py-12">
                         <p className="text-gray-400 text-lg">
-                            {searchTerm ? '검색 결과가 없습니다.' : '등록된 배틀러가 없습니다.'}
+                            등록된 배틀러가 없습니다.
                         </p>
                     </div>
                 )
@@ -2,8 +2,10 @@ package com.example.apipractice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+@EnableScheduling
 @EnableTransactionManagement
 @SpringBootApplication
 public class ApipracticeApplication {
@@ -0,0 +1,14 @@
+package com.example.apipractice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// 커서 기반 페이지 응답 (nextCursor 가 null 이면 마지막 페이지)
+@Data
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -1,13 +1,22 @@
 package com.example.apipractice.config;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Value("${storage.node-role:primary}")
+    private String nodeRole;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -20,6 +29,27 @@ public class WebConfig implements WebMvcConfigurer {
         System.out.println("CORS 설정 등록됨: /api/** -> http://www.taja.me.kr, http://taja.me.kr, http://keybae.store");
     }
 
+    // 복제 노드는 변경 로그로만 상태가 바뀌므로 조회 요청만 처리
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!"replica".equalsIgnoreCase(nodeRole)) {
+            return;
+        }
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+                String method = request.getMethod();
+                if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+                    return true;
+                }
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "읽기 전용 복제 노드입니다. 변경 요청은 주 노드로 보내주세요.");
+                return false;
+            }
+        });
+
+        System.out.println("읽기 전용 복제 노드로 실행됨: GET/HEAD/OPTIONS 요청만 처리");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // 정적 리소스 핸들러 - 업로드된 이미지와 기본 이미지 모두 서빙
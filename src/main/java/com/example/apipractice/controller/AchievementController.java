@@ -17,6 +17,12 @@ public class AchievementController {
 
     private final AchievementService achievementService;
 
+    // 올바르지 않은 배틀러 ID (0 이하, 허용 범위 초과, 존재하지 않음)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleInvalidWarrior(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().build();
+    }
+
     // 배틀러의 업적 조회 (공개)
     @GetMapping("/warrior/{warriorId}")
     public ResponseEntity<WarriorAchievements> getWarriorAchievements(@PathVariable int warriorId) throws IOException {
@@ -1,6 +1,7 @@
 package com.example.apipractice.controller;
 
 
+import com.example.apipractice.DTO.CursorPageDTO;
 import com.example.apipractice.DTO.LoginRequestDTO;
 import com.example.apipractice.DTO.UserRequestDTO;
 import com.example.apipractice.DTO.UserResponseDTO;
@@ -9,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.example.apipractice.service.UserService;
+import com.example.apipractice.util.PageCursor;
 
 import java.util.HashMap;
 import java.util.List;
@@ -22,6 +24,8 @@ public class Controller {
 
     private final UserService userService;
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     @PostMapping("/register")
     public UserResponseDTO createUser(@RequestBody UserRequestDTO request) {
         User savedUser = userService.createUser(request);
@@ -57,4 +61,23 @@ public class Controller {
                 ))
                 .collect(Collectors.toList());
     }
+
+    // 키셋 페이지 조회 - after 는 이전 응답의 nextCursor
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> getUsers(@RequestParam int limit,
+                                                                   @RequestParam(required = false) String after) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Long afterId;
+        try {
+            afterId = after != null ? PageCursor.toId(after) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 잘못된 커서
+        }
+        List<User> users = userService.getUsers(afterId, pageSize);
+        List<UserResponseDTO> items = users.stream()
+                .map(user -> new UserResponseDTO(user.getId(), user.getName(), user.getEmail()))
+                .collect(Collectors.toList());
+        String nextCursor = users.size() == pageSize ? PageCursor.ofId(users.get(users.size() - 1).getId()) : null;
+        return ResponseEntity.ok(new CursorPageDTO<>(items, nextCursor));
+    }
 }
@@ -1,11 +1,23 @@
 package com.example.apipractice.controller;
 
+import com.example.apipractice.repository.ChangeLog;
+import com.example.apipractice.repository.ReplicaTailer;
+import com.example.apipractice.repository.StoreLocks;
+import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @RestController
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final StoreLocks storeLocks;
+    private final ChangeLog changeLog;
+    private final ReplicaTailer replicaTailer;
+
     @GetMapping("/")
     public String health() {
         return "Keyboard Warrior API is running!";
@@ -15,4 +27,20 @@ public class HealthController {
     public String healthCheck() {
         return "OK";
     }
-} 
\ No newline at end of file
+
+    // 저장소 잠금 대기 지표 (잠금별 획득 횟수, 경합 횟수, 평균/최대 대기 시간)
+    @GetMapping("/health/locks")
+    public Map<String, Map<String, Object>> lockMetrics() {
+        return storeLocks.getMetrics();
+    }
+
+    // 변경 로그 상태 (주 노드: 마지막 기록 순번 / 복제 노드: 마지막 반영 순번)
+    @GetMapping("/health/replication")
+    public Map<String, Object> replicationStatus() {
+        Map<String, Object> status = new LinkedHashMap<>(changeLog.getStatus());
+        if (changeLog.isReplica()) {
+            status.put("replica", replicaTailer.getStatus());
+        }
+        return status;
+    }
+}
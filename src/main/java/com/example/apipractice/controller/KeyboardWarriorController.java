@@ -1,5 +1,6 @@
 package com.example.apipractice.controller;
 
+import com.example.apipractice.DTO.CursorPageDTO;
 import com.example.apipractice.domain.KeyboardWarrior;
 import com.example.apipractice.service.KeyboardWarriorService;
 import lombok.RequiredArgsConstructor;
@@ -7,13 +8,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/keyboard-warriors")
 @RequiredArgsConstructor
 public class KeyboardWarriorController {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final KeyboardWarriorService service;
 
     @GetMapping("/allow")
@@ -48,10 +53,68 @@ public class KeyboardWarriorController {
         return ResponseEntity.ok(warrior);
     }
 
-    // 실시간 랭킹 API (포인트 순 정렬)
+    // 실시간 랭킹 API (포인트 순 정렬) - limit 지정 시 offset 부터 limit 명
+    // window(day, week, month, season) 지정 시 해당 기간 경기 포인트 순 (points 는 기간 포인트)
     @GetMapping("/ranking")
-    public ResponseEntity<List<KeyboardWarrior>> getRanking() throws IOException {
-        List<KeyboardWarrior> rankedWarriors = service.getRankedWarriors();
+    public ResponseEntity<List<KeyboardWarrior>> getRanking(
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String window) throws IOException {
+        if (window != null && !"all".equalsIgnoreCase(window)) {
+            try {
+                return ResponseEntity.ok(service.getRankedWarriors(window, offset, limit != null ? limit : Integer.MAX_VALUE));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        List<KeyboardWarrior> rankedWarriors = (offset == 0 && limit == null)
+                ? service.getRankedWarriors()
+                : service.getRankedWarriors(offset, limit != null ? limit : Integer.MAX_VALUE);
         return ResponseEntity.ok(rankedWarriors);
     }
+
+    // 닉네임/한마디 검색 - 앞부분, 초성("ㅋㅂ"), 입력 중인 글자("키ㅂ") 모두 검색
+    // 한 번에 limit 명 (최대 100), 다음 페이지는 after 에 이전 응답의 nextCursor 를 넣어 조회
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<KeyboardWarrior>> search(@RequestParam String q,
+                                                                 @RequestParam(defaultValue = "20") int limit,
+                                                                 @RequestParam(required = false) String after) throws IOException {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(service.search(q, after, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 잘못된 커서
+        }
+    }
+
+    // 배틀러의 현재 순위 조회 (window 지정 시 기간 순위)
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<Map<String, Integer>> getRank(@PathVariable int id,
+                                                        @RequestParam(required = false) String window) throws IOException {
+        if (window != null && !"all".equalsIgnoreCase(window)) {
+            try {
+                int rank = service.getRank(id, window);
+                if (rank == 0) {
+                    return ResponseEntity.notFound().build();
+                }
+                Map<String, Integer> response = new HashMap<>();
+                response.put("warriorId", id);
+                response.put("rank", rank);
+                return ResponseEntity.ok(response);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        int rank = service.getRank(id);
+        if (rank == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Integer> response = new HashMap<>();
+        response.put("warriorId", id);
+        response.put("rank", rank);
+        response.put("total", service.getWarriorCount());
+        return ResponseEntity.ok(response);
+    }
 }
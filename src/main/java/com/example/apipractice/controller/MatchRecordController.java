@@ -1,12 +1,22 @@
 package com.example.apipractice.controller;
 
+import com.example.apipractice.DTO.CursorPageDTO;
+import com.example.apipractice.domain.HeadToHead;
 import com.example.apipractice.domain.MatchRecord;
+import com.example.apipractice.domain.MatchStats;
 import com.example.apipractice.service.MatchRecordService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,20 +28,48 @@ public class MatchRecordController {
 
     private final MatchRecordService service;
 
-    // 배틀러별 전적 조회 (공개)
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_RIVALS = 50;
+
+    // 배틀러별 전적 조회 (공개) - limit/before 지정 시 최신 N건만 조회
     @GetMapping("/warrior/{warriorId}")
-    public ResponseEntity<List<MatchRecord>> getRecordsByWarriorId(@PathVariable int warriorId) throws IOException {
-        List<MatchRecord> records = service.getRecordsByWarriorId(warriorId);
+    public ResponseEntity<List<MatchRecord>> getRecordsByWarriorId(
+            @PathVariable int warriorId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before) throws IOException {
+        List<MatchRecord> records = (limit == null && before == null)
+                ? service.getRecordsByWarriorId(warriorId)
+                : service.getRecordsByWarriorId(warriorId, limit != null ? limit : Integer.MAX_VALUE, before);
         return ResponseEntity.ok(records);
     }
 
     // 배틀러별 전적 통계 조회 (공개)
     @GetMapping("/warrior/{warriorId}/stats")
-    public ResponseEntity<MatchRecordService.MatchStats> getWarriorStats(@PathVariable int warriorId) throws IOException {
-        MatchRecordService.MatchStats stats = service.calculateStats(warriorId);
+    public ResponseEntity<MatchStats> getWarriorStats(@PathVariable int warriorId) throws IOException {
+        MatchStats stats = service.calculateStats(warriorId);
         return ResponseEntity.ok(stats);
     }
 
+    // 배틀러가 가장 많이 맞붙은 상대 목록 (공개)
+    @GetMapping("/warrior/{warriorId}/rivals")
+    public ResponseEntity<List<HeadToHead>> getTopRivals(
+            @PathVariable int warriorId,
+            @RequestParam(defaultValue = "5") int limit) throws IOException {
+        return ResponseEntity.ok(service.getTopRivals(warriorId, Math.max(1, Math.min(limit, MAX_RIVALS))));
+    }
+
+    // 두 배틀러의 상대 전적 (공개) - warriorId 입장, 최근 경기 ID 최대 recent 건
+    @GetMapping("/head-to-head/{warriorId}/{opponentId}")
+    public ResponseEntity<HeadToHead> getHeadToHead(
+            @PathVariable int warriorId,
+            @PathVariable int opponentId,
+            @RequestParam(defaultValue = "10") int recent) throws IOException {
+        if (warriorId == opponentId) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(service.getHeadToHead(warriorId, opponentId, Math.max(0, Math.min(recent, MAX_RIVALS))));
+    }
+
     // 전체 전적 조회 (관리자용)
     @GetMapping
     public ResponseEntity<List<MatchRecord>> getAllRecords() throws IOException {
@@ -39,13 +77,65 @@ public class MatchRecordController {
         return ResponseEntity.ok(records);
     }
 
+    // 전체 전적 최신순 페이지 조회 (관리자용) - after 는 이전 응답의 nextCursor
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<MatchRecord>> getRecordsPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String after) throws IOException {
+        try {
+            return ResponseEntity.ok(service.getRecordsPage(after, Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 전체 전적 내보내기 (관리자용) - format=ndjson|csv, since 지정 시 해당 날짜 이후 경기만
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRecords(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = outputStream -> service.exportRecords(outputStream, csv, since);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"match_records." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
     // 전적 등록 (관리자용)
     @PostMapping
     public ResponseEntity<Void> addRecord(@RequestBody MatchRecord record) throws IOException {
-        service.addRecord(record);
+        try {
+            service.addRecord(record);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 없는 배틀러
+        }
         return ResponseEntity.ok().build();
     }
 
+    // 전적 일괄 등록 (관리자용) - NDJSON 또는 CSV(첫 줄 헤더)
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "application/json", "text/csv"})
+    public ResponseEntity<Map<String, Object>> importRecords(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"));
+            MatchRecordService.ImportResult result = service.importRecords(body, csv);
+            response.put("imported", result.getImported());
+            response.put("affectedWarriors", result.getAffectedWarriors());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            // 한 건이라도 잘못되면 전체가 반영되지 않음
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     // 전적 수정 (관리자용)
     @PutMapping("/{id}")
     public ResponseEntity<Void> updateRecord(@PathVariable int id, @RequestBody MatchRecord record) throws IOException {
@@ -70,6 +160,16 @@ public class MatchRecordController {
         return ResponseEntity.ok(record);
     }
 
+    // 배틀러 전적 통계 재계산 (관리자용) - 전체 이력에서 다시 계산
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildStats() throws IOException {
+        int warriors = service.rebuildStats();
+        Map<String, Object> response = new HashMap<>();
+        response.put("warriors", warriors);
+        response.put("message", "전적 통계 재계산이 완료되었습니다.");
+        return ResponseEntity.ok(response);
+    }
+
     // 데이터 마이그레이션 (관리자용)
     @PostMapping("/migrate-opponent-names")
     public ResponseEntity<Map<String, String>> migrateOpponentNames() throws IOException {
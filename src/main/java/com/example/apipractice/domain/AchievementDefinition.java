@@ -0,0 +1,36 @@
+package com.example.apipractice.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// 업적 카탈로그(achievements/catalog.json)의 한 항목
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AchievementDefinition {
+    private String id;
+    private int bit; // 해금 상태 비트마스크에서의 위치 (한 번 정하면 바꾸지 않음)
+    private String name;
+    private String description;
+    private String icon;
+    private String category;
+    private int requirement;
+    private Rule rule;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private String type; // COUNT, STREAK, DISTINCT, RANK, MANUAL
+        private Map<String, String> filter; // 전적 필드 = 값 조건 (모두 만족해야 함)
+        private String field; // DISTINCT 에서 종류를 셀 필드
+    }
+
+    // 미해금 상태의 업적 객체 생성
+    public Achievement toAchievement() {
+        return new Achievement(id, name, description, icon, category, requirement, null, false);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.apipractice.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 두 배틀러 간 상대 전적 (warriorId 입장 기준)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeadToHead {
+    private int warriorId;
+    private int opponentId;
+    private String opponentName; // 조회 시 채움
+    private int totalMatches;
+    private int wins;
+    private int losses;
+    private int draws;
+    private long pointsChange; // warriorId 배틀러의 포인트 변화 합
+    private List<Integer> recentMatchIds; // 최신순
+}
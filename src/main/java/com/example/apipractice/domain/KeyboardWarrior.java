@@ -14,4 +14,5 @@ public class KeyboardWarrior {
     private int points;
     private String comment;
     private String profileImage;
+    private Long version; // 수정 시 비교용 (보내지 않으면 비교하지 않고 덮어씀)
 }
@@ -22,4 +22,45 @@ public class MatchRecord {
     // 추가 정보 (선택사항)
     private String opponentName; // 상대방 닉네임 (조회 시 사용)
     private int pointsChange; // 포인트 변화량
+    private Long version; // 수정 시 비교용 (보내지 않으면 비교하지 않고 덮어씀)
+
+    // 전적은 한 건만 저장하고, 상대방 입장의 전적은 조회 시 결과/점수/포인트를 뒤집어 만듦
+    public MatchRecord viewFor(int viewerId) {
+        boolean flipped = viewerId != warriorId && viewerId == opponentId;
+        return MatchRecord.builder()
+                .id(id)
+                .warriorId(flipped ? opponentId : warriorId)
+                .opponentId(flipped ? warriorId : opponentId)
+                .result(flipped ? oppositeResult(result) : result)
+                .score(flipped ? reverseScore(score) : score)
+                .matchDate(matchDate)
+                .gameType(gameType)
+                .description(description)
+                .opponentName(flipped ? null : opponentName)
+                .pointsChange(flipped ? -pointsChange : pointsChange)
+                .version(version)
+                .build();
+    }
+
+    public static String oppositeResult(String result) {
+        if ("WIN".equals(result)) {
+            return "LOSE";
+        }
+        if ("LOSE".equals(result)) {
+            return "WIN";
+        }
+        return "DRAW";
+    }
+
+    // "3-1" -> "1-3" (형식이 다르면 그대로)
+    public static String reverseScore(String score) {
+        if (score == null) {
+            return null;
+        }
+        int dash = score.indexOf('-');
+        if (dash <= 0 || dash != score.lastIndexOf('-') || dash == score.length() - 1) {
+            return score;
+        }
+        return score.substring(dash + 1).trim() + "-" + score.substring(0, dash).trim();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.example.apipractice.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// 배틀러 전적 통계 (저장소가 전적 변경 시 갱신해 두는 값을 그대로 조회)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchStats {
+    private int totalMatches;
+    private int wins;
+    private int losses;
+    private int draws;
+    private double winRate;
+    private long pointsGained; // 얻은 포인트 합
+    private long pointsLost;   // 잃은 포인트 합 (양수)
+    private int longestWinStreak;
+    private int currentWinStreak;
+    private Map<String, GameTypeStats> byGameType; // 게임 종류별
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GameTypeStats {
+        private int totalMatches;
+        private int wins;
+        private int losses;
+        private int draws;
+        private long pointsChange; // 포인트 변화 합
+    }
+}
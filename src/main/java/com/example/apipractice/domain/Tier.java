@@ -0,0 +1,20 @@
+package com.example.apipractice.domain;
+
+// 배틀러 티어 (선언 순서가 곧 순위: SS > S > A > B > C > D)
+public enum Tier {
+    SS, S, A, B, C, D;
+
+    private static final Tier[] VALUES = values();
+
+    // 티어 문자열의 순위 값 (알 수 없는 티어는 맨 뒤)
+    public static int ordinalOf(String tier) {
+        if (tier != null) {
+            for (Tier value : VALUES) {
+                if (value.name().equals(tier)) {
+                    return value.ordinal();
+                }
+            }
+        }
+        return VALUES.length;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.apipractice.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// 배틀러별 업적 해금 상태 (카탈로그의 bit 위치 기준 비트마스크 + 해금 날짜)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarriorAchievementState {
+    public static final int MAX_ACHIEVEMENTS = Long.SIZE;
+
+    private int warriorId;
+    private long unlockedMask;
+    private int[] unlockedEpochDays = new int[MAX_ACHIEVEMENTS]; // 해금 날짜 (epoch day)
+    private long version; // 저장할 때마다 1씩 증가 (동시 수정 감지용)
+
+    public WarriorAchievementState(int warriorId) {
+        this.warriorId = warriorId;
+    }
+
+    public boolean isUnlocked(int bit) {
+        return (unlockedMask & (1L << bit)) != 0;
+    }
+
+    public LocalDate unlockedAt(int bit) {
+        return isUnlocked(bit) ? LocalDate.ofEpochDay(unlockedEpochDays[bit]) : null;
+    }
+
+    public void unlock(int bit, LocalDate date) {
+        unlockedMask |= 1L << bit;
+        unlockedEpochDays[bit] = (int) date.toEpochDay();
+    }
+
+    public void lock(int bit) {
+        unlockedMask &= ~(1L << bit);
+        unlockedEpochDays[bit] = 0;
+    }
+}
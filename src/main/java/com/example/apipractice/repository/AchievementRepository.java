@@ -1,11 +1,13 @@
 package com.example.apipractice.repository;
 
 import com.example.apipractice.domain.Achievement;
+import com.example.apipractice.domain.WarriorAchievementState;
 
 import java.io.IOException;
 import java.util.List;
 
 public interface AchievementRepository {
-    List<Achievement> findByWarriorId(int warriorId) throws IOException;
-    void save(int warriorId, List<Achievement> achievements) throws IOException;
-} 
\ No newline at end of file
+    WarriorAchievementState findByWarriorId(int warriorId) throws IOException;
+    void save(WarriorAchievementState state) throws IOException;
+    List<Achievement> findLegacyByWarriorId(int warriorId) throws IOException;
+}
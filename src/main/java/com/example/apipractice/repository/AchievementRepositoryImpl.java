@@ -1,37 +1,302 @@
 package com.example.apipractice.repository;
 
 import com.example.apipractice.domain.Achievement;
+import com.example.apipractice.domain.WarriorAchievementState;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
+// 모든 배틀러의 업적 상태를 하나의 파일에 고정 크기 슬롯(warriorId 위치)으로 저장
 @Repository
-public class AchievementRepositoryImpl implements AchievementRepository {
+public class AchievementRepositoryImpl implements AchievementRepository,
+        TransactionalStore<AchievementRepositoryImpl.Pending>, ReplicatedStore {
+
+    // 작업 단위 동안 저장 대기 중인 상태 (warriorId -> 상태)
+    public static class Pending {
+        final Map<Integer, WarriorAchievementState> states = new LinkedHashMap<>();
+        final Map<Integer, ByteBuffer> slots = new LinkedHashMap<>();
+        StoreLock.Hold held; // 준비부터 반영/롤백까지 변경할 슬롯의 쓰기 잠금 유지
+
+        void release() {
+            if (held != null) {
+                held.close();
+                held = null;
+            }
+        }
+    }
 
     private final ObjectMapper objectMapper;
     private static final String ACHIEVEMENTS_DIR = "achievements";
     private static final String EXTERNAL_ACHIEVEMENTS_DIR = "./data/achievements";
+    private static final String STORE_FILE = "./data/achievements.dat";
+    private static final String STORE_NAME = "achievements";
+
+    // 파일 헤더: 매직(4) + 버전(4) + 슬롯 크기(4) + 예약(4)
+    private static final int MAGIC = 0x4B424143; // "KBAC"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    // 슬롯: 사용 여부(1) + 버전(8) + 해금 비트마스크(8) + 해금 날짜(4 * 64)
+    private static final int SLOT_SIZE = 1 + Long.BYTES + Long.BYTES + Integer.BYTES * WarriorAchievementState.MAX_ACHIEVEMENTS;
+    // 버전 1 형식 슬롯 (버전 필드 없음) - 시작 시 한 번 변환
+    private static final int V1_SLOT_SIZE = SLOT_SIZE - Long.BYTES;
+
+    // 배틀러별 슬롯은 서로 겹치지 않으므로 warriorId 기준으로 잠금을 나눔
+    private static final int LOCK_STRIPES = 64;
+
+    private final UnitOfWork unitOfWork;
+    private final ChangeLog changeLog;
+    private final StoreLock lock;
+    private final int maxWarriorId; // 슬롯 위치로 쓰는 id 의 상한 (파일이 한없이 커지지 않도록)
+    private final boolean replica;
+    private final String storeFile; // 복제 노드는 주 노드 파일과 겹치지 않도록 별도 디렉토리 사용
+    private volatile FileChannel channel;
 
     @Autowired
-    public AchievementRepositoryImpl(ObjectMapper objectMapper) {
+    public AchievementRepositoryImpl(ObjectMapper objectMapper, UnitOfWork unitOfWork, StoreLocks storeLocks,
+                                     ChangeLog changeLog,
+                                     @Value("${achievements.max-warrior-id:1000000}") int maxWarriorId,
+                                     @Value("${storage.replica.data-dir:./data/replica}") String replicaDataDir) {
         this.objectMapper = objectMapper;
+        this.unitOfWork = unitOfWork;
+        this.changeLog = changeLog;
+        this.maxWarriorId = maxWarriorId;
+        this.replica = changeLog.isReplica();
+        this.storeFile = replica ? new File(replicaDataDir, "achievements.dat").getPath() : STORE_FILE;
+        this.lock = storeLocks.striped(STORE_NAME, LOCK_STRIPES);
+        changeLog.register(this);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // 해금 상태 조회 - 해당 슬롯만 읽음 (저장된 적이 없으면 null)
+    @Override
+    public WarriorAchievementState findByWarriorId(int warriorId) throws IOException {
+        checkWarriorId(warriorId);
+        // 같은 작업 단위에서 아직 반영되지 않은 상태가 있으면 그것을 사용
+        Pending pending = unitOfWork.existingPending(this);
+        if (pending != null && pending.states.containsKey(warriorId)) {
+            return copyOf(pending.states.get(warriorId));
+        }
+
+        try (StoreLock.Hold held = lock.read(warriorId)) {
+            FileChannel store = openChannel(false);
+            if (store != null) {
+                WarriorAchievementState state = readSlot(store, warriorId);
+                if (state != null) {
+                    return state;
+                }
+            }
+
+            // 슬롯이 비어 있으면 이전 버전의 배틀러별 상태 파일 확인 (주 노드의 파일이므로 복제 노드는 보지 않음)
+            File stateFile = getStateFile(warriorId);
+            if (!replica && stateFile.exists()) {
+                return objectMapper.readValue(stateFile, WarriorAchievementState.class);
+            }
+            return null;
+        }
+    }
+
+    // 작업 단위가 끝날 때 해당 배틀러 슬롯만 제자리 갱신
+    @Override
+    public void save(WarriorAchievementState state) throws IOException {
+        checkWarriorId(state.getWarriorId());
+        unitOfWork.execute(() -> {
+            unitOfWork.pending(this).states.put(state.getWarriorId(), copyOf(state));
+            return null;
+        });
+    }
+
+    @Override
+    public Pending newPending() {
+        return new Pending();
+    }
+
+    // 변경할 슬롯을 잠근 뒤, 읽었을 때의 버전과 파일의 현재 버전을 비교 (다르면 그 사이 다른 변경이 있었음)
+    @Override
+    public void prepare(Pending pending) throws IOException {
+        FileChannel store = openChannel(true);
+        pending.held = lock.writeAll(pending.states.keySet());
+        for (WarriorAchievementState state : pending.states.values()) {
+            long current = readVersion(store, state.getWarriorId());
+            if (current != state.getVersion()) {
+                pending.release();
+                throw new VersionConflictException("배틀러 " + state.getWarriorId() + " 업적 버전 불일치 (읽은 버전 "
+                        + state.getVersion() + ", 현재 " + current + ")");
+            }
+
+            state.setVersion(current + 1);
+            pending.slots.put(state.getWarriorId(), encodeSlot(state));
+        }
+    }
+
+    // 변경된 배틀러 슬롯만 기록 (다른 배틀러 데이터는 건드리지 않음)
+    @Override
+    public void commit(Pending pending) throws IOException {
+        try {
+            FileChannel store = openChannel(true);
+            for (Map.Entry<Integer, ByteBuffer> entry : pending.slots.entrySet()) {
+                ByteBuffer slot = entry.getValue();
+                long offset = slotOffset(entry.getKey());
+                while (slot.hasRemaining()) {
+                    offset += store.write(slot, offset);
+                }
+
+                // 통합 파일로 옮겨졌으므로 배틀러별 파일은 삭제
+                deleteIfExists(getStateFile(entry.getKey()));
+                deleteIfExists(getExternalAchievementFile(entry.getKey()));
+            }
+
+            // 슬롯 잠금을 쥔 채 기록해야 같은 배틀러의 변경 순서가 로그 순서와 일치함
+            ChangeLog.Batch batch = changeLog.changes(STORE_NAME);
+            pending.states.forEach(batch::put);
+            batch.append();
+        } catch (Exception e) {
+            throw new IOException("업적 데이터 저장 중 오류 발생", e);
+        } finally {
+            pending.release();
+        }
+    }
+
+    @Override
+    public void rollback(Pending pending) {
+        // 반영 전에는 메모리에만 있으므로 잠금만 풀고 버리면 됨
+        pending.release();
+    }
+
+    @Override
+    public String storeName() {
+        return STORE_NAME;
+    }
+
+    // 사용 중인 슬롯을 모두 기록 (모든 stripe 를 잠가 그 사이의 슬롯 변경과 순서가 어긋나지 않도록 함)
+    @Override
+    public void writeCheckpoint(ChangeLog changeLog) throws IOException {
+        try (StoreLock.Hold held = lock.readAll()) {
+            ChangeLog.Batch batch = changeLog.changes(STORE_NAME).reset();
+            FileChannel store = openChannel(false);
+            if (store != null) {
+                long slots = Math.min((store.size() - HEADER_SIZE) / SLOT_SIZE, (long) maxWarriorId + 1);
+                for (int warriorId = 0; warriorId < slots; warriorId++) {
+                    WarriorAchievementState state = readSlot(store, warriorId);
+                    if (state != null) {
+                        batch.put(warriorId, state);
+                    }
+                }
+            }
+            batch.append();
+        }
     }
 
+    // 복제 노드: 주 노드의 슬롯 내용을 이 노드의 파일(storage.replica.data-dir)에 그대로 기록 (버전 비교 없음)
     @Override
-    public List<Achievement> findByWarriorId(int warriorId) throws IOException {
+    public void applyChange(ChangeLog.Change change) throws IOException {
+        FileChannel store = openChannel(true);
+        switch (change.getOp()) {
+            case RESET -> {
+                try (StoreLock.Hold held = lock.writeAll(IntStream.range(0, LOCK_STRIPES).boxed().toList())) {
+                    store.truncate(HEADER_SIZE);
+                }
+            }
+            case PUT -> {
+                WarriorAchievementState state = objectMapper.treeToValue(change.getValue(), WarriorAchievementState.class);
+                writeSlot(store, change.getId(), encodeSlot(state));
+            }
+            case DELETE -> {
+                ByteBuffer empty = ByteBuffer.allocate(SLOT_SIZE);
+                writeSlot(store, change.getId(), empty);
+            }
+        }
+    }
+
+    private void writeSlot(FileChannel store, int warriorId, ByteBuffer slot) throws IOException {
+        checkWarriorId(warriorId);
+        try (StoreLock.Hold held = lock.write(warriorId)) {
+            long offset = slotOffset(warriorId);
+            while (slot.hasRemaining()) {
+                offset += store.write(slot, offset);
+            }
+        }
+    }
+
+    private static ByteBuffer encodeSlot(WarriorAchievementState state) {
+        ByteBuffer slot = ByteBuffer.allocate(SLOT_SIZE);
+        slot.put((byte) 1);
+        slot.putLong(state.getVersion());
+        slot.putLong(state.getUnlockedMask());
+        for (int day : state.getUnlockedEpochDays()) {
+            slot.putInt(day);
+        }
+        slot.flip();
+        return slot;
+    }
+
+    // 슬롯 하나를 읽어 상태로 변환 (사용하지 않는 슬롯이면 null)
+    private static WarriorAchievementState readSlot(FileChannel store, int warriorId) throws IOException {
+        ByteBuffer slot = ByteBuffer.allocate(SLOT_SIZE);
+        store.read(slot, slotOffset(warriorId));
+        slot.flip();
+        if (slot.remaining() != SLOT_SIZE || slot.get() != 1) {
+            return null;
+        }
+        WarriorAchievementState state = new WarriorAchievementState(warriorId);
+        state.setVersion(slot.getLong());
+        state.setUnlockedMask(slot.getLong());
+        int[] days = state.getUnlockedEpochDays();
+        for (int i = 0; i < days.length; i++) {
+            days[i] = slot.getInt();
+        }
+        return state;
+    }
+
+    // 슬롯의 현재 버전 (저장된 적이 없으면 0)
+    private static long readVersion(FileChannel store, int warriorId) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(1 + Long.BYTES);
+        store.read(head, slotOffset(warriorId));
+        head.flip();
+        if (head.remaining() < 1 + Long.BYTES || head.get() != 1) {
+            return 0;
+        }
+        return head.getLong();
+    }
+
+    private static WarriorAchievementState copyOf(WarriorAchievementState state) {
+        return new WarriorAchievementState(state.getWarriorId(), state.getUnlockedMask(),
+                state.getUnlockedEpochDays().clone(), state.getVersion());
+    }
+
+    // 이전 형식(업적 객체 전체 목록) 파일 조회 - 상태 변환용
+    @Override
+    public List<Achievement> findLegacyByWarriorId(int warriorId) throws IOException {
         try {
             // 먼저 외부 파일에서 읽기 시도
             File externalFile = getExternalAchievementFile(warriorId);
-            if (externalFile.exists()) {
+            if (!replica && externalFile.exists()) {
                 return objectMapper.readValue(externalFile, new TypeReference<List<Achievement>>() {});
             }
-            
+
             // 외부 파일이 없으면 클래스패스에서 읽기
             var inputStream = getClass().getClassLoader().getResourceAsStream(
                 ACHIEVEMENTS_DIR + "/warrior_" + warriorId + "_achievements.json"
@@ -39,7 +304,7 @@ public class AchievementRepositoryImpl implements AchievementRepository {
             if (inputStream == null) {
                 return new ArrayList<>();
             }
-            
+
             return objectMapper.readValue(inputStream, new TypeReference<List<Achievement>>() {});
         } catch (Exception e) {
             // 파일이 없거나 읽기 실패 시 빈 리스트 반환
@@ -47,23 +312,108 @@ public class AchievementRepositoryImpl implements AchievementRepository {
         }
     }
 
-    @Override
-    public void save(int warriorId, List<Achievement> achievements) throws IOException {
-        try {
-            File file = getExternalAchievementFile(warriorId);
-            // 디렉토리가 없으면 생성
+    // 통합 파일 열기 (create 가 false 이고 파일이 없으면 null)
+    private FileChannel openChannel(boolean create) throws IOException {
+        FileChannel opened = channel;
+        return opened != null ? opened : openChannelOnce(create);
+    }
+
+    private synchronized FileChannel openChannelOnce(boolean create) throws IOException {
+        if (channel != null) {
+            return channel;
+        }
+        File file = new File(storeFile);
+        if (!file.exists()) {
+            if (!create) {
+                return null;
+            }
             file.getParentFile().mkdirs();
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, achievements);
-        } catch (Exception e) {
-            throw new IOException("업적 데이터 저장 중 오류 발생", e);
+        }
+
+        FileChannel opened = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (opened.size() >= HEADER_SIZE && readHeader(opened).getInt(4) == 1) {
+            opened.close();
+            migrateFromV1(file.toPath());
+            opened = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        if (opened.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(SLOT_SIZE).putInt(0);
+            header.flip();
+            opened.write(header, 0);
+        } else {
+            ByteBuffer header = readHeader(opened);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != SLOT_SIZE) {
+                opened.close();
+                throw new IOException("업적 저장 파일 형식이 올바르지 않습니다: " + storeFile);
+            }
+        }
+        channel = opened;
+        return channel;
+    }
+
+    private static ByteBuffer readHeader(FileChannel store) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        store.read(header, 0);
+        header.flip();
+        return header;
+    }
+
+    // 버전 1 파일을 버전 필드가 있는 형식으로 변환 (기존 슬롯은 버전 0)
+    private static void migrateFromV1(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = readHeader(source);
+            if (header.getInt(0) != MAGIC || header.getInt(8) != V1_SLOT_SIZE) {
+                throw new IOException("업적 저장 파일 형식이 올바르지 않습니다: " + path);
+            }
+            ByteBuffer newHeader = ByteBuffer.allocate(HEADER_SIZE);
+            newHeader.putInt(MAGIC).putInt(VERSION).putInt(SLOT_SIZE).putInt(0);
+            newHeader.flip();
+            target.write(newHeader, 0);
+
+            long slots = (source.size() - HEADER_SIZE) / V1_SLOT_SIZE;
+            ByteBuffer oldSlot = ByteBuffer.allocate(V1_SLOT_SIZE);
+            ByteBuffer newSlot = ByteBuffer.allocate(SLOT_SIZE);
+            for (long i = 0; i < slots; i++) {
+                oldSlot.clear();
+                source.read(oldSlot, HEADER_SIZE + i * V1_SLOT_SIZE);
+                oldSlot.flip();
+                newSlot.clear();
+                newSlot.put(oldSlot.get()).putLong(0L).put(oldSlot);
+                newSlot.flip();
+                target.write(newSlot, HEADER_SIZE + i * SLOT_SIZE);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.println("업적 저장 파일을 버전 " + VERSION + " 형식으로 변환했습니다.");
+    }
+
+    // 슬롯 위치로 쓸 수 있는 id 인지 확인 (0 이하면 파일 읽기/쓰기가 실패하고, 너무 크면 거대한 파일이 생김)
+    private void checkWarriorId(int warriorId) {
+        if (warriorId <= 0 || warriorId > maxWarriorId) {
+            throw new IllegalArgumentException("올바르지 않은 배틀러 ID 입니다: " + warriorId);
+        }
+    }
+
+    private static long slotOffset(int warriorId) {
+        return HEADER_SIZE + (long) warriorId * SLOT_SIZE;
+    }
+
+    private static void deleteIfExists(File file) {
+        if (file.exists() && !file.delete()) {
+            System.err.println("기존 업적 파일 삭제 실패: " + file.getPath());
         }
     }
 
-    private File getAchievementFile(int warriorId) {
-        return new File("./src/main/resources/" + ACHIEVEMENTS_DIR + "/warrior_" + warriorId + "_achievements.json");
+    private File getStateFile(int warriorId) {
+        return new File(EXTERNAL_ACHIEVEMENTS_DIR + "/warrior_" + warriorId + "_state.json");
     }
 
     private File getExternalAchievementFile(int warriorId) {
         return new File(EXTERNAL_ACHIEVEMENTS_DIR + "/warrior_" + warriorId + "_achievements.json");
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,272 @@
+package com.example.apipractice.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// 저장소 변경 로그 (CDC) - 모든 저장소의 반영된 변경을 전역 순번과 함께 한 줄씩 기록 (NDJSON)
+// 로그는 구간(segment) 파일로 나뉘며, 새 구간은 각 저장소의 전체 상태(RESET + PUT)로 시작하므로
+// 복제 노드는 가장 최근 구간부터 읽으면 현재 상태를 만들 수 있음
+@Component
+public class ChangeLog {
+
+    public enum Op { PUT, DELETE, RESET }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private long seq;
+        private String store;
+        private Op op;
+        private int id;
+        private JsonNode value; // PUT 인 경우에만 사용
+    }
+
+    static final String SEGMENT_PREFIX = "changes-";
+    static final String SEGMENT_SUFFIX = ".ndjson";
+
+    private final ObjectMapper objectMapper;
+    private final boolean primary;
+    private final boolean enabled;
+    private final File dir;
+    private final long segmentBytes;
+    private final int retainSegments;
+    private final List<ReplicatedStore> stores = new CopyOnWriteArrayList<>();
+
+    private FileOutputStream out;
+    private long segmentSize = 0;
+    private long lastSeq = 0;
+    private volatile boolean rotationRequested = false;
+
+    public ChangeLog(ObjectMapper objectMapper,
+                     @Value("${storage.node-role:primary}") String nodeRole,
+                     @Value("${storage.changelog.enabled:true}") boolean enabled,
+                     @Value("${storage.changelog.dir:./data/changelog}") String dir,
+                     @Value("${storage.changelog.segment-bytes:67108864}") long segmentBytes,
+                     @Value("${storage.changelog.retain-segments:3}") int retainSegments) {
+        this.objectMapper = objectMapper;
+        this.primary = !"replica".equalsIgnoreCase(nodeRole);
+        this.enabled = enabled;
+        this.dir = new File(dir);
+        this.segmentBytes = segmentBytes;
+        this.retainSegments = Math.max(1, retainSegments);
+    }
+
+    public boolean isReplica() {
+        return !primary;
+    }
+
+    File getDir() {
+        return dir;
+    }
+
+    ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    // 저장소가 생성될 때 자신을 등록 (전체 상태 기록 / 복제 반영 대상)
+    public void register(ReplicatedStore store) {
+        stores.add(store);
+    }
+
+    ReplicatedStore findStore(String name) {
+        for (ReplicatedStore store : stores) {
+            if (store.storeName().equals(name)) {
+                return store;
+            }
+        }
+        return null;
+    }
+
+    // 주 노드 시작 시 새 구간을 열고 전체 상태 기록 (파일을 직접 고친 경우에도 복제 노드가 맞춰짐)
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSegment() {
+        if (primary && enabled) {
+            rotationRequested = true;
+            maintain();
+        }
+    }
+
+    public Batch changes(String store) {
+        return new Batch(store);
+    }
+
+    // 한 저장소의 변경 묶음 (한 번의 쓰기로 기록)
+    public class Batch {
+        private final String store;
+        private final List<Change> changes = new ArrayList<>();
+
+        private Batch(String store) {
+            this.store = store;
+        }
+
+        public Batch put(int id, Object value) {
+            changes.add(new Change(0, store, Op.PUT, id, objectMapper.valueToTree(value)));
+            return this;
+        }
+
+        public Batch delete(int id) {
+            changes.add(new Change(0, store, Op.DELETE, id, null));
+            return this;
+        }
+
+        public Batch reset() {
+            changes.add(new Change(0, store, Op.RESET, 0, null));
+            return this;
+        }
+
+        // 저장소 잠금을 쥔 채 호출해야 같은 저장소의 변경 순서가 로그 순서와 일치함
+        public void append() {
+            ChangeLog.this.append(changes);
+        }
+    }
+
+    // 순번을 붙여 현재 구간에 추가 - 실패해도 이미 반영된 저장소 변경은 되돌리지 않음 (다음 구간 전체 상태로 복구)
+    private synchronized void append(List<Change> changes) {
+        if (!primary || !enabled || changes.isEmpty()) {
+            return;
+        }
+        try {
+            if (out == null) {
+                openSegment();
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            for (Change change : changes) {
+                change.setSeq(++lastSeq);
+                buffer.write(objectMapper.writeValueAsBytes(change));
+                buffer.write('\n');
+            }
+            out.write(buffer.toByteArray());
+            segmentSize += buffer.size();
+            if (segmentSize >= segmentBytes) {
+                rotationRequested = true;
+            }
+        } catch (IOException e) {
+            rotationRequested = true;
+            System.err.println("변경 로그 기록 중 오류: " + e.getMessage());
+        }
+    }
+
+    // 구간이 커지면 새 구간으로 전환하고 전체 상태 기록, 오래된 구간 정리
+    @Scheduled(fixedDelayString = "${storage.changelog.maintain-interval-ms:10000}")
+    public void maintain() {
+        if (!primary || !enabled || !rotationRequested) {
+            return;
+        }
+        rotationRequested = false;
+        try {
+            synchronized (this) {
+                closeSegment();
+                openSegment();
+            }
+            // 저장소별로 자기 잠금 안에서 기록하므로 그 사이의 다른 변경과 순서가 어긋나지 않음
+            for (ReplicatedStore store : stores) {
+                store.writeCheckpoint(this);
+            }
+            deleteOldSegments();
+        } catch (IOException e) {
+            rotationRequested = true;
+            System.err.println("변경 로그 구간 전환 중 오류: " + e.getMessage());
+        }
+    }
+
+    private void openSegment() throws IOException {
+        dir.mkdirs();
+        if (lastSeq == 0) {
+            lastSeq = readLastSeq();
+        }
+        File segment = new File(dir, segmentName(lastSeq + 1));
+        out = new FileOutputStream(segment, true);
+        segmentSize = segment.length();
+    }
+
+    private void closeSegment() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        closeSegment();
+    }
+
+    // 재시작 시 이어서 번호를 매기도록 마지막 구간의 마지막 순번을 읽음
+    private long readLastSeq() throws IOException {
+        List<File> segments = listSegments(dir);
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            long seq = 0;
+            try (BufferedReader reader = Files.newBufferedReader(segments.get(i).toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        seq = Math.max(seq, objectMapper.readTree(line).path("seq").asLong());
+                    } catch (IOException e) {
+                        // 비정상 종료로 잘린 마지막 줄은 무시
+                    }
+                }
+            }
+            if (seq > 0) {
+                return seq;
+            }
+        }
+        return 0;
+    }
+
+    private void deleteOldSegments() {
+        List<File> segments = listSegments(dir);
+        for (int i = 0; i < segments.size() - retainSegments; i++) {
+            if (!segments.get(i).delete()) {
+                System.err.println("오래된 변경 로그 구간 삭제 실패: " + segments.get(i).getPath());
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("role", primary ? "primary" : "replica");
+        status.put("enabled", enabled);
+        status.put("dir", dir.getPath());
+        status.put("lastSeq", lastSeq);
+        status.put("segments", listSegments(dir).size());
+        return status;
+    }
+
+    // 구간 파일 이름은 첫 순번 기준이라 이름순 정렬이 곧 기록 순서
+    static String segmentName(long firstSeq) {
+        return SEGMENT_PREFIX + String.format("%020d", firstSeq) + SEGMENT_SUFFIX;
+    }
+
+    static List<File> listSegments(File dir) {
+        File[] files = dir.listFiles((d, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return List.of();
+        }
+        Arrays.sort(files);
+        return Arrays.asList(files);
+    }
+}
@@ -3,12 +3,22 @@ package com.example.apipractice.repository;
 import com.example.apipractice.domain.KeyboardWarrior;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface KeyboardWarriorRepository {
     List<KeyboardWarrior> findAll() throws IOException;
-    void save(KeyboardWarrior warrior) throws IOException;
-    void update(int id, KeyboardWarrior warrior) throws IOException;
-    void delete(int id) throws IOException;
+    RankChange save(KeyboardWarrior warrior) throws IOException;
+    RankChange update(int id, KeyboardWarrior warrior) throws IOException;
+    RankChange delete(int id) throws IOException;
     KeyboardWarrior findById(int id) throws IOException;
+    Map<Integer, KeyboardWarrior> findByIds(Collection<Integer> ids) throws IOException;
+    List<KeyboardWarrior> findRanked(int offset, int limit) throws IOException;
+    int findRank(int id) throws IOException;
+    Integer findIdAtRank(int rank) throws IOException;
+    List<KeyboardWarrior> searchByNickname(String query, int offset, int limit) throws IOException;
+    int count() throws IOException;
+    // 없는 배틀러면 null
+    RankChange addPoints(int id, int delta) throws IOException;
 }
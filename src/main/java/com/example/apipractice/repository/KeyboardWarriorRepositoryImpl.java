@@ -1,57 +1,676 @@
 package com.example.apipractice.repository;
 
 import com.example.apipractice.domain.KeyboardWarrior;
+import com.example.apipractice.domain.Tier;
+import com.example.apipractice.util.BinarySnapshot;
 import com.example.apipractice.util.JsonFileHandler;
+import com.example.apipractice.util.NicknameSearchIndex;
+import com.example.apipractice.util.RankingIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
-public class KeyboardWarriorRepositoryImpl implements KeyboardWarriorRepository {
+public class KeyboardWarriorRepositoryImpl implements KeyboardWarriorRepository,
+        TransactionalStore<KeyboardWarriorRepositoryImpl.Pending>, ReplicatedStore {
+
+    // 작업 단위 동안의 변경 내역
+    public static class Pending {
+        final Map<Integer, KeyboardWarrior> originals = new HashMap<>(); // 작업 전 값 (없던 배틀러는 null)
+        final Map<Integer, Integer> pointAdjustments = new HashMap<>();   // update 로 바뀐 포인트 차이
+        final Map<Integer, Integer> writtenPoints = new HashMap<>();      // 임시 파일에 포함된 미기록 포인트
+        int originalMaxId = -1;
+        Path tempFile;
+        boolean released;
+    }
+
+    private static final String STORE_NAME = "warriors";
+    private static final String SNAPSHOT_FILE = "./data/snapshot/warriors.bin";
+
+    private final UnitOfWork unitOfWork;
+    private final ChangeLog changeLog;
+    private final StoreLock lock;
+    private final boolean snapshotEnabled;
+    private final int watchedRanks; // 순위 변화와 함께 돌려줄 상위 순위 수 (순위 구간 중 가장 큰 값)
+    private volatile long[] snapshotStamp; // 마지막으로 기록한 바이너리 스냅샷의 원본 파일 표식
+    private int openUnits = 0; // 반영 전 변경이 있는 작업 수 (그동안은 파일 재적재 안 함)
+
+    // 메모리 상주 저장소 (id -> 배틀러, 파일 순서 유지)
+    private final Map<Integer, KeyboardWarrior> warriors = new LinkedHashMap<>();
+    private volatile long loadedModified = Long.MIN_VALUE;
+    private int maxId = 0;
+
+    // 랭킹 인덱스 (티어 -> 포인트 내림차순 -> id)
+    private final RankingIndex ranking = new RankingIndex();
+    // 닉네임/한마디 검색 인덱스
+    private final NicknameSearchIndex searchIndex = new NicknameSearchIndex();
+
+    // 포인트 원장 - 포인트의 기준 값 (저장된 배틀러 객체의 points 는 파일에 쓸 때만 맞춰짐)
+    // 전적 처리 중 포인트 변경은 잠금 없이 원자적으로 반영하고, 파일에는 주기적으로 모아서 기록
+    // 포인트 변경은 읽기 잠금만 잡으므로 서로 동시에 진행되고, 파일 재적재/기록(쓰기 잠금)과만 배타적
+    private final Map<Integer, AtomicInteger> points = new ConcurrentHashMap<>();
+    // 아직 파일에 기록되지 않은 포인트 변화량 - 다른 서버가 파일을 바꿔 다시 읽을 때 이 값을 더해 합침
+    private final Map<Integer, AtomicInteger> unflushed = new ConcurrentHashMap<>();
+
+    // 배틀러별 버전 - 수정/포인트 변경마다 1씩 증가하고 되돌리지 않음
+    private final Map<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public KeyboardWarriorRepositoryImpl(UnitOfWork unitOfWork, StoreLocks storeLocks, ChangeLog changeLog,
+                                         @Value("${storage.snapshot.enabled:true}") boolean snapshotEnabled,
+                                         @Value("${ranking.transition-thresholds:1,3,10}") int[] rankThresholds) {
+        this.unitOfWork = unitOfWork;
+        this.changeLog = changeLog;
+        this.snapshotEnabled = snapshotEnabled;
+        this.watchedRanks = Arrays.stream(rankThresholds).max().orElse(0);
+        this.lock = storeLocks.create(STORE_NAME);
+        changeLog.register(this);
+    }
+
+    // 시작 시 한 번 파일을 읽어 메모리에 적재
+    @PostConstruct
+    public void init() throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            reloadIfChanged();
+        }
+    }
+
+    // 종료 시 아직 기록되지 않은 포인트 반영
+    @PreDestroy
+    public void close() throws IOException {
+        flushPoints();
+    }
 
     @Override
     public List<KeyboardWarrior> findAll() throws IOException {
-        return JsonFileHandler.readWarriors();
+        reloadIfChanged();
+        try (StoreLock.Hold held = lock.read()) {
+            List<KeyboardWarrior> list = new ArrayList<>(warriors.size());
+            for (KeyboardWarrior warrior : warriors.values()) {
+                list.add(snapshotOf(warrior));
+            }
+            return list;
+        }
     }
 
     @Override
-    public void save(KeyboardWarrior warrior) throws IOException {
-        List<KeyboardWarrior> list = JsonFileHandler.readWarriors();
-        int nextId = list.stream().mapToInt(KeyboardWarrior::getId).max().orElse(0) + 1;
-        warrior.setId(nextId);
-        list.add(warrior);
-        JsonFileHandler.writeWarriors(list);
+    public RankChange save(KeyboardWarrior warrior) throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            return unitOfWork.execute(() -> {
+                reloadIfChanged();
+                int nextId = maxId + 1;
+                touch(nextId);
+                warrior.setId(nextId);
+                warrior.setVersion(1L);
+                warriors.put(nextId, copyOf(warrior));
+                points.put(nextId, new AtomicInteger(warrior.getPoints()));
+                versions.put(nextId, new AtomicLong(1L));
+                RankChange change;
+                synchronized (ranking) {
+                    indexRanking(warrior);
+                    change = rankChange(0, ranking.rankOf(nextId));
+                }
+                searchIndex.put(nextId, warrior.getNickname(), warrior.getComment());
+                maxId = nextId;
+                return change;
+            });
+        }
     }
 
     @Override
-    public void update(int id, KeyboardWarrior warrior) throws IOException {
-        List<KeyboardWarrior> list = JsonFileHandler.readWarriors();
-        for (int i = 0; i < list.size(); i++) {
-            if (list.get(i).getId() == id) {
+    public RankChange update(int id, KeyboardWarrior warrior) throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            return unitOfWork.execute(() -> {
+                reloadIfChanged();
+                if (!warriors.containsKey(id)) {
+                    throw new NoSuchElementException("해당 ID 없음");
+                }
+                // 버전을 보낸 경우에만 비교 (조회 이후 다른 변경이 있었으면 충돌)
+                AtomicLong version = versions.get(id);
+                if (warrior.getVersion() != null && warrior.getVersion() != version.get()) {
+                    throw new VersionConflictException("배틀러 " + id + " 버전 불일치 (요청 "
+                            + warrior.getVersion() + ", 현재 " + version.get() + ")");
+                }
+                touch(id);
                 warrior.setId(id);
-                list.set(i, warrior);
-                JsonFileHandler.writeWarriors(list);
+                warrior.setVersion(version.incrementAndGet());
+                warriors.put(id, copyOf(warrior));
+                // 동시에 들어온 포인트 변경과 겹쳐도 롤백할 수 있도록 바뀐 차이만 기록
+                int previous = points.get(id).getAndSet(warrior.getPoints());
+                unitOfWork.pending(this).pointAdjustments.merge(id, warrior.getPoints() - previous, Integer::sum);
+                RankChange change;
+                synchronized (ranking) {
+                    int oldRank = ranking.rankOf(id);
+                    indexRanking(warrior);
+                    change = rankChange(oldRank, ranking.rankOf(id));
+                }
+                searchIndex.put(id, warrior.getNickname(), warrior.getComment());
+                return change;
+            });
+        }
+    }
+
+    @Override
+    public RankChange delete(int id) throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            return unitOfWork.execute(() -> {
+                reloadIfChanged();
+                touch(id);
+                warriors.remove(id);
+                points.remove(id);
+                unflushed.remove(id);
+                versions.remove(id);
+                RankChange change;
+                synchronized (ranking) {
+                    int oldRank = ranking.rankOf(id);
+                    ranking.remove(id);
+                    change = rankChange(oldRank, 0);
+                }
+                searchIndex.remove(id);
+                maxId = warriors.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+                return change;
+            });
+        }
+    }
+
+    @Override
+    public KeyboardWarrior findById(int id) throws IOException {
+        reloadIfChanged();
+        try (StoreLock.Hold held = lock.read()) {
+            KeyboardWarrior warrior = warriors.get(id);
+            return warrior != null ? snapshotOf(warrior) : null;
+        }
+    }
+
+    // 여러 배틀러를 한 번에 조회 (없는 id는 결과에서 제외)
+    @Override
+    public Map<Integer, KeyboardWarrior> findByIds(Collection<Integer> ids) throws IOException {
+        reloadIfChanged();
+        try (StoreLock.Hold held = lock.read()) {
+            Map<Integer, KeyboardWarrior> result = new HashMap<>();
+            for (Integer id : ids) {
+                KeyboardWarrior warrior = warriors.get(id);
+                if (warrior != null) {
+                    result.put(id, snapshotOf(warrior));
+                }
+            }
+            return result;
+        }
+    }
+
+    // 랭킹 순 조회 (offset 부터 최대 limit 명)
+    @Override
+    public List<KeyboardWarrior> findRanked(int offset, int limit) throws IOException {
+        reloadIfChanged();
+        try (StoreLock.Hold held = lock.read()) {
+            List<KeyboardWarrior> list = new ArrayList<>();
+            for (int id : ranking.range(offset, limit)) {
+                list.add(snapshotOf(warriors.get(id)));
+            }
+            return list;
+        }
+    }
+
+    // 1부터 시작하는 순위 (없으면 0)
+    @Override
+    public int findRank(int id) throws IOException {
+        reloadIfChanged();
+        try (StoreLock.Hold held = lock.read()) {
+            return ranking.rankOf(id);
+        }
+    }
+
+    // 해당 순위(1부터)의 배틀러 id (없으면 null)
+    @Override
+    public Integer findIdAtRank(int rank) throws IOException {
+        reloadIfChanged();
+        try (StoreLock.Hold held = lock.read()) {
+            return ranking.idAt(rank);
+        }
+    }
+
+    // 닉네임/한마디 검색 - 일치 정도(닉네임 일치 > 앞부분 > 포함 > 한마디) 다음 랭킹 순, offset 부터 최대 limit 명
+    @Override
+    public List<KeyboardWarrior> searchByNickname(String query, int offset, int limit) throws IOException {
+        reloadIfChanged();
+        try (StoreLock.Hold held = lock.read()) {
+            Map<Integer, Integer> hits = searchIndex.search(query);
+            // 랭킹에 없는 배틀러(순위 0)는 맨 뒤
+            Map<Integer, Integer> ranks = new HashMap<>(hits.size() * 2);
+            for (int id : hits.keySet()) {
+                int rank = ranking.rankOf(id);
+                ranks.put(id, rank > 0 ? rank : Integer.MAX_VALUE);
+            }
+            List<Integer> ids = new ArrayList<>(hits.keySet());
+            ids.sort(Comparator.<Integer>comparingInt(hits::get)
+                    .thenComparingInt(ranks::get)
+                    .thenComparingInt(Integer::intValue));
+            List<KeyboardWarrior> list = new ArrayList<>();
+            for (int i = Math.max(offset, 0); i < ids.size() && list.size() < limit; i++) {
+                KeyboardWarrior warrior = warriors.get(ids.get(i));
+                if (warrior != null) {
+                    list.add(snapshotOf(warrior));
+                }
+            }
+            return list;
+        }
+    }
+
+    @Override
+    public int count() throws IOException {
+        reloadIfChanged();
+        try (StoreLock.Hold held = lock.read()) {
+            return warriors.size();
+        }
+    }
+
+    // 포인트 증감 - 저장소 잠금 없이 원장만 원자적으로 갱신하고 파일 기록은 flushPoints 에 맡김
+    // 변경 전후 순위는 랭킹 잠금 안에서 함께 계산하므로 동시에 들어온 포인트 변경끼리 같은 이전 순위를 보지 않음
+    @Override
+    public RankChange addPoints(int id, int delta) throws IOException {
+        RankChange change = applyPoints(id, delta);
+        if (change == null) {
+            return null;
+        }
+        // 작업 단위가 롤백되면 그 사이 다른 요청의 변경은 유지한 채 이 변경만 되돌림
+        unitOfWork.onRollback(() -> applyPoints(id, -delta));
+        return change;
+    }
+
+    private RankChange applyPoints(int id, int delta) {
+        try (StoreLock.Hold held = lock.read()) {
+            AtomicInteger counter = points.get(id);
+            if (counter == null) {
+                return null;
+            }
+            counter.addAndGet(delta);
+            unflushed.computeIfAbsent(id, key -> new AtomicInteger()).addAndGet(delta);
+            versions.get(id).incrementAndGet();
+            // 랭킹 잠금 안에서 최신 값을 읽어야 늦게 도착한 갱신이 최신 값을 덮어쓰지 않음
+            synchronized (ranking) {
+                int oldRank = ranking.rankOf(id);
+                ranking.updateScore(id, counter.get());
+                return rankChange(oldRank, ranking.rankOf(id));
+            }
+        }
+    }
+
+    // ranking 잠금 안에서 호출 - 상위 구간에서 밀려났을 때만 새로 들어온 배틀러 확인용 상위 목록을 담음
+    private RankChange rankChange(int oldRank, int newRank) {
+        boolean leftTop = oldRank != 0 && oldRank <= watchedRanks && (newRank == 0 || newRank > oldRank);
+        return new RankChange(oldRank, newRank, leftTop ? ranking.range(0, watchedRanks) : List.of());
+    }
+
+    // 변경된 포인트를 모아서 파일에 기록 (쓰기 지연)
+    @Scheduled(fixedDelayString = "${warriors.points.flush-interval-ms:500}")
+    public void flushPointsPeriodically() {
+        try {
+            flushPoints();
+        } catch (IOException e) {
+            System.err.println("포인트 기록 중 오류: " + e.getMessage());
+        }
+    }
+
+    public void flushPoints() throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            // 반영 전 작업이 있으면 그 변경까지 파일에 쓰이지 않도록 다음 주기로 미룸
+            if (unflushed.isEmpty() || openUnits > 0 || changeLog.isReplica()) {
                 return;
             }
+            // 다른 서버가 파일을 바꿨으면 먼저 다시 읽어 그 변경 위에 미기록 포인트를 더함
+            reloadIfChanged();
+            // 쓰기 잠금 중에는 포인트 변경이 들어오지 않으므로 기록에 성공한 뒤 비워도 됨
+            JsonFileHandler.commitWrite(JsonFileHandler.prepareWrite(snapshot()));
+            loadedModified = JsonFileHandler.getLastModified();
+            emitChanges(unflushed.keySet());
+            unflushed.clear();
+        }
+    }
+
+    private void indexRanking(KeyboardWarrior warrior) {
+        ranking.put(warrior.getId(), Tier.ordinalOf(warrior.getTier()), warrior.getPoints());
+    }
+
+    // 파일 수정 시각이 바뀐 경우에만 다시 읽기 (외부 편집 반영)
+    // 복제 노드는 변경 로그로만 상태를 맞추므로 로컬 파일을 읽지 않음 (두 원본이 섞이지 않도록)
+    private void reloadIfChanged() throws IOException {
+        if (changeLog.isReplica()) {
+            return;
+        }
+        long modified = JsonFileHandler.getLastModified();
+        if (modified == loadedModified) {
+            return;
+        }
+
+        try (StoreLock.Hold held = lock.write()) {
+            // 다른 스레드가 먼저 다시 읽었을 수 있으므로 잠금 안에서 다시 확인
+            // 반영 전 작업이 있으면 그 작업의 변경을 잃지 않도록 다시 읽지 않음 (커밋 시 충돌로 처리)
+            if (modified == loadedModified || openUnits > 0) {
+                return;
+            }
+
+            // 원본 파일이 스냅샷 이후 바뀌지 않았으면 JSON 대신 바이너리 스냅샷 사용
+            List<KeyboardWarrior> list = snapshotEnabled ? readSnapshot(modified) : null;
+            if (list == null) {
+                list = JsonFileHandler.readWarriors();
+            }
+            Map<Integer, AtomicLong> localVersions = new HashMap<>(versions);
+            warriors.clear();
+            points.clear();
+            versions.clear();
+            ranking.clear();
+            searchIndex.clear();
+            maxId = 0;
+            for (KeyboardWarrior warrior : list) {
+                // 파일 값 위에 아직 기록하지 않은 이 서버의 포인트 변화량을 더함
+                AtomicInteger pending = unflushed.get(warrior.getId());
+                if (pending != null) {
+                    warrior.setPoints(warrior.getPoints() + pending.get());
+                }
+                // 버전은 줄어들지 않도록 파일과 메모리 중 큰 값 사용
+                AtomicLong local = localVersions.get(warrior.getId());
+                long version = warrior.getVersion() != null ? warrior.getVersion() : 0L;
+                warrior.setVersion(local != null ? Math.max(version, local.get()) : version);
+
+                warriors.put(warrior.getId(), warrior);
+                points.put(warrior.getId(), new AtomicInteger(warrior.getPoints()));
+                versions.put(warrior.getId(), new AtomicLong(warrior.getVersion()));
+                indexRanking(warrior);
+                searchIndex.put(warrior.getId(), warrior.getNickname(), warrior.getComment());
+                maxId = Math.max(maxId, warrior.getId());
+            }
+            unflushed.keySet().retainAll(warriors.keySet());
+            loadedModified = modified;
+        }
+    }
+
+
+    // 작업 단위에 참여하고 변경 전 값을 기록 (id 당 처음 한 번만)
+    private void touch(int id) {
+        Pending pending = unitOfWork.pending(this);
+        if (pending.originalMaxId < 0) {
+            pending.originalMaxId = maxId;
+        }
+        if (!pending.originals.containsKey(id)) {
+            KeyboardWarrior original = warriors.get(id);
+            pending.originals.put(id, original != null ? snapshotOf(original) : null);
         }
-        throw new NoSuchElementException("해당 ID 없음");
     }
 
     @Override
-    public void delete(int id) throws IOException {
-        List<KeyboardWarrior> list = JsonFileHandler.readWarriors();
-        list.removeIf(w -> w.getId() == id);
-        JsonFileHandler.writeWarriors(list);
+    public Pending newPending() {
+        try (StoreLock.Hold held = lock.write()) {
+            openUnits++;
+            return new Pending();
+        }
     }
 
+    // 현재 메모리 내용을 임시 파일에 기록
     @Override
-    public KeyboardWarrior findById(int id) throws IOException {
-        List<KeyboardWarrior> list = JsonFileHandler.readWarriors();
-        return list.stream()
-                .filter(w -> w.getId() == id)
-                .findFirst()
-                .orElse(null);
+    public void prepare(Pending pending) throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            // 마지막으로 읽거나 쓴 뒤 파일이 바뀌었으면 다른 서버가 먼저 기록한 것이므로 덮어쓰지 않음
+            if (JsonFileHandler.getLastModified() != loadedModified) {
+                throw new VersionConflictException("배틀러 파일이 다른 곳에서 변경되었습니다.");
+            }
+            pending.tempFile = JsonFileHandler.prepareWrite(snapshot());
+            unflushed.forEach((id, delta) -> pending.writtenPoints.put(id, delta.get()));
+        }
+    }
+
+    // 임시 파일을 원본과 교체 (작업 단위당 파일 쓰기 한 번)
+    @Override
+    public void commit(Pending pending) throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            try {
+                JsonFileHandler.commitWrite(pending.tempFile);
+                loadedModified = JsonFileHandler.getLastModified();
+                // 임시 파일에 포함된 만큼은 기록된 것으로 처리 (준비 이후 들어온 변경은 남김)
+                pending.writtenPoints.forEach((id, written) ->
+                        unflushed.computeIfPresent(id, (key, delta) -> delta.addAndGet(-written) == 0 ? null : delta));
+
+                Set<Integer> changed = new HashSet<>(pending.originals.keySet());
+                changed.addAll(pending.writtenPoints.keySet());
+                emitChanges(changed);
+            } finally {
+                release(pending);
+            }
+        }
+    }
+
+    @Override
+    public void rollback(Pending pending) {
+        try (StoreLock.Hold held = lock.write()) {
+            pending.originals.forEach((id, original) -> {
+                if (original == null) {
+                    warriors.remove(id);
+                    points.remove(id);
+                    unflushed.remove(id);
+                    versions.remove(id);
+                    ranking.remove(id);
+                    searchIndex.remove(id);
+                    return;
+                }
+                warriors.put(id, original);
+                // 버전은 되돌리지 않음 (작업 중 이 값을 읽은 요청이 잘못 성공하지 않도록)
+                versions.computeIfAbsent(id, key -> new AtomicLong(original.getVersion() + 1));
+                AtomicInteger counter = points.get(id);
+                if (counter == null) {
+                    // 작업 중 삭제된 배틀러는 작업 전 포인트로 복원
+                    points.put(id, new AtomicInteger(original.getPoints()));
+                } else {
+                    counter.addAndGet(-pending.pointAdjustments.getOrDefault(id, 0));
+                }
+                synchronized (ranking) {
+                    ranking.put(id, Tier.ordinalOf(original.getTier()), points.get(id).get());
+                }
+                searchIndex.put(id, original.getNickname(), original.getComment());
+            });
+            if (pending.originalMaxId >= 0) {
+                // 동시에 진행 중인 다른 작업이 그 사이 발급한 id 는 다시 쓰지 않도록 남아 있는 최대 id 이상으로 유지
+                int remaining = warriors.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+                maxId = Math.max(pending.originalMaxId, remaining);
+            }
+            // 그 사이 전체 상태 기록에 반영 전 값이 실렸을 수 있으므로 되돌린 값도 변경 로그에 남김
+            emitChanges(pending.originals.keySet());
+            if (pending.tempFile != null) {
+                try {
+                    Files.deleteIfExists(pending.tempFile);
+                } catch (IOException e) {
+                    System.err.println("임시 파일 삭제 실패: " + pending.tempFile);
+                }
+            }
+            release(pending);
+        }
+    }
+
+    private void release(Pending pending) {
+        if (!pending.released) {
+            pending.released = true;
+            openUnits--;
+        }
+    }
+
+    // 메모리 상태가 파일과 같을 때 바이너리 스냅샷 기록 (다음 시작 시 JSON 파싱 생략)
+    @Scheduled(fixedDelayString = "${storage.snapshot.interval-ms:60000}")
+    public void writeSnapshot() {
+        if (!snapshotEnabled || changeLog.isReplica()) {
+            return;
+        }
+        List<KeyboardWarrior> list;
+        long[] stamp;
+        // 쓰기 잠금이어야 포인트 변경(읽기 잠금)도 멈춘 상태로 파일과 비교할 수 있음
+        try (StoreLock.Hold held = lock.write()) {
+            long modified = JsonFileHandler.getLastModified();
+            if (openUnits > 0 || !unflushed.isEmpty() || modified != loadedModified) {
+                return;
+            }
+            stamp = new long[]{modified, JsonFileHandler.getLength()};
+            if (Arrays.equals(stamp, snapshotStamp)) {
+                return;
+            }
+            list = snapshot();
+        }
+
+        try {
+            BinarySnapshot.Writer body = new BinarySnapshot.Writer().putInt(list.size());
+            for (KeyboardWarrior warrior : list) {
+                body.putInt(warrior.getId())
+                        .putString(warrior.getNickname())
+                        .putString(warrior.getTier())
+                        .putInt(warrior.getPoints())
+                        .putString(warrior.getComment())
+                        .putString(warrior.getProfileImage())
+                        .putNullableLong(warrior.getVersion());
+            }
+            BinarySnapshot.write(SNAPSHOT_FILE, stamp, body);
+            snapshotStamp = stamp;
+        } catch (IOException e) {
+            System.err.println("배틀러 스냅샷 기록 중 오류: " + e.getMessage());
+        }
+    }
+
+    private List<KeyboardWarrior> readSnapshot(long modified) {
+        long[] stamp = {modified, JsonFileHandler.getLength()};
+        BinarySnapshot.Reader body = BinarySnapshot.read(SNAPSHOT_FILE, stamp);
+        if (body == null) {
+            return null;
+        }
+        int count = body.getInt();
+        List<KeyboardWarrior> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(KeyboardWarrior.builder()
+                    .id(body.getInt())
+                    .nickname(body.getString())
+                    .tier(body.getString())
+                    .points(body.getInt())
+                    .comment(body.getString())
+                    .profileImage(body.getString())
+                    .version(body.getNullableLong())
+                    .build());
+        }
+        snapshotStamp = stamp;
+        return list;
+    }
+
+    // 변경된 배틀러의 현재 값을 변경 로그에 기록 (쓰기 잠금 안에서 호출)
+    private void emitChanges(Collection<Integer> ids) {
+        ChangeLog.Batch batch = changeLog.changes(STORE_NAME);
+        for (int id : ids) {
+            KeyboardWarrior warrior = warriors.get(id);
+            if (warrior != null) {
+                batch.put(id, snapshotOf(warrior));
+            } else {
+                batch.delete(id);
+            }
+        }
+        batch.append();
+    }
+
+    @Override
+    public String storeName() {
+        return STORE_NAME;
+    }
+
+    @Override
+    public void writeCheckpoint(ChangeLog changeLog) {
+        try (StoreLock.Hold held = lock.read()) {
+            ChangeLog.Batch batch = changeLog.changes(STORE_NAME).reset();
+            for (KeyboardWarrior warrior : warriors.values()) {
+                batch.put(warrior.getId(), snapshotOf(warrior));
+            }
+            batch.append();
+        }
+    }
+
+    // 복제 노드: 주 노드의 변경을 메모리에만 반영 (파일은 주 노드가 관리)
+    @Override
+    public void applyChange(ChangeLog.Change change) throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            switch (change.getOp()) {
+                case RESET -> {
+                    warriors.clear();
+                    points.clear();
+                    unflushed.clear();
+                    versions.clear();
+                    ranking.clear();
+                    searchIndex.clear();
+                    maxId = 0;
+                }
+                case PUT -> {
+                    KeyboardWarrior warrior = changeLog.getObjectMapper().treeToValue(change.getValue(), KeyboardWarrior.class);
+                    warriors.put(warrior.getId(), warrior);
+                    points.put(warrior.getId(), new AtomicInteger(warrior.getPoints()));
+                    versions.put(warrior.getId(), new AtomicLong(warrior.getVersion() != null ? warrior.getVersion() : 0L));
+                    synchronized (ranking) {
+                        indexRanking(warrior);
+                    }
+                    searchIndex.put(warrior.getId(), warrior.getNickname(), warrior.getComment());
+                    maxId = Math.max(maxId, warrior.getId());
+                }
+                case DELETE -> {
+                    warriors.remove(change.getId());
+                    points.remove(change.getId());
+                    versions.remove(change.getId());
+                    ranking.remove(change.getId());
+                    searchIndex.remove(change.getId());
+                }
+            }
+        }
+    }
+
+    // 파일에 기록할 전체 목록 (포인트는 원장 기준)
+    private List<KeyboardWarrior> snapshot() {
+        List<KeyboardWarrior> list = new ArrayList<>(warriors.size());
+        for (KeyboardWarrior warrior : warriors.values()) {
+            list.add(snapshotOf(warrior));
+        }
+        return list;
+    }
+
+    // 원장의 현재 포인트와 버전을 반영한 복사본
+    private KeyboardWarrior snapshotOf(KeyboardWarrior warrior) {
+        KeyboardWarrior copy = copyOf(warrior);
+        AtomicInteger counter = points.get(warrior.getId());
+        if (counter != null) {
+            copy.setPoints(counter.get());
+        }
+        AtomicLong version = versions.get(warrior.getId());
+        if (version != null) {
+            copy.setVersion(version.get());
+        }
+        return copy;
+    }
+
+    // 호출자가 반환값을 수정해도 저장소가 바뀌지 않도록 복사본 사용
+    private static KeyboardWarrior copyOf(KeyboardWarrior warrior) {
+        return KeyboardWarrior.builder()
+                .id(warrior.getId())
+                .nickname(warrior.getNickname())
+                .tier(warrior.getTier())
+                .points(warrior.getPoints())
+                .comment(warrior.getComment())
+                .profileImage(warrior.getProfileImage())
+                .version(warrior.getVersion())
+                .build();
     }
 }
@@ -0,0 +1,546 @@
+package com.example.apipractice.repository;
+
+import com.example.apipractice.domain.HeadToHead;
+import com.example.apipractice.domain.MatchRecord;
+import com.example.apipractice.domain.MatchStats;
+import com.example.apipractice.util.SortedLongSet;
+import com.example.apipractice.util.StringDictionary;
+import com.example.apipractice.util.WindowedLeaderboard;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+// 전적 열 저장소 - 경기당 한 행을 id 위치의 기본형 배열에 나눠 저장 (MatchRecord 객체는 조회 결과로 내보낼 때만 생성)
+// 결과는 byte 코드, 날짜는 epoch day, 점수/게임 종류/상대 이름은 사전 코드로 저장하여 같은 문자열을 한 번만 보관
+// 잠금은 저장소가 관리 (읽기 잠금 안에서는 읽기 메서드만 호출)
+class MatchRecordColumns {
+
+    static final byte WIN = 1;
+    static final byte LOSE = 2;
+    static final byte DRAW = 3;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final long NO_VERSION = Long.MIN_VALUE;
+
+    private final StringDictionary results = new StringDictionary("WIN", "LOSE", "DRAW");
+    private final StringDictionary scores = new StringDictionary();
+    private final StringDictionary gameTypes = new StringDictionary();
+    private final StringDictionary names = new StringDictionary();
+    private int[] reversedScores = new int[16]; // 점수 코드 -> 뒤집은 점수 코드 ("3-1" -> "1-3")
+
+    private final BitSet present = new BitSet();
+    private int count = 0;
+    private int[] warriorIds = new int[0];
+    private int[] opponentIds = new int[0];
+    private int[] days = new int[0];
+    private int[] pointsChanges = new int[0];
+    private int[] scoreCodes = new int[0];
+    private int[] gameTypeCodes = new int[0];
+    private int[] nameCodes = new int[0];
+    private byte[] resultCodes = new byte[0];
+    private long[] versions = new long[0];
+    private String[] descriptions = new String[0];
+
+    // 최신순 인덱스 키: (날짜, id) 를 long 하나로 - 내림차순으로 읽으면 날짜 내림차순, 같은 날짜는 id 내림차순 (날짜 없음은 마지막)
+    private final SortedLongSet latest = new SortedLongSet();
+    // 배틀러별 인덱스 - 경기 양쪽 배틀러 모두에 등록
+    private final Map<Integer, SortedLongSet> byWarrior = new HashMap<>();
+    // 배틀러별 누적 통계 - 인덱스에 등록/해제될 때 함께 더하고 뺌
+    private Map<Integer, Totals> totals = new HashMap<>();
+    // 기간별(오늘/주/월/시즌) 포인트 순위 - 통계와 같은 시점에 갱신
+    private final WindowedLeaderboard leaderboard;
+    // 상대 전적 - 배틀러 -> 상대 -> 두 사람의 누적 (같은 Pair 를 양쪽에 등록)
+    private final Map<Integer, Map<Integer, Pair>> rivals = new HashMap<>();
+
+    // 두 배틀러(low < high)의 누적 상대 전적 (low 입장 기준)
+    private static final class Pair {
+        final int low;
+        final int high;
+        int matches;
+        int lowWins;
+        int highWins;
+        int draws;
+        long lowPoints;
+        final SortedLongSet keys = new SortedLongSet(); // 최근 경기 조회용 (날짜, id) 키
+
+        Pair(int low, int high) {
+            this.low = low;
+            this.high = high;
+        }
+    }
+
+    // 배틀러 한 명의 누적 통계 (배틀러 입장 기준)
+    private static final class Totals {
+        int matches;
+        int wins;
+        int losses;
+        int draws;
+        long pointsGained;
+        long pointsLost;
+        int[] byGameType = new int[0];  // 게임 종류 코드 * 4 + {전체, 승, 패, 무}
+        long[] gameTypePoints = new long[0];
+        // 연속 승리는 최신 전적이 뒤에 붙을 때만 바로 갱신하고, 중간 삽입/삭제 후에는 조회 시 다시 계산
+        int longestWinStreak;
+        int currentWinStreak;
+        long lastKey = Long.MIN_VALUE;
+        boolean streakDirty;
+    }
+
+    MatchRecordColumns(int seasonMonths) {
+        this.leaderboard = new WindowedLeaderboard(seasonMonths);
+    }
+
+    int size() {
+        return count;
+    }
+
+    boolean contains(int id) {
+        return id >= 0 && present.get(id);
+    }
+
+    // 가장 큰 id (없으면 0)
+    int lastId() {
+        return Math.max(0, present.length() - 1);
+    }
+
+    // afterId 다음으로 큰 id (없으면 -1)
+    int nextId(int afterId) {
+        if (afterId == Integer.MAX_VALUE) {
+            return -1;
+        }
+        return present.nextSetBit(Math.max(0, afterId + 1));
+    }
+
+    int dayOf(int id) {
+        return days[id];
+    }
+
+    static int toDay(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : NO_DATE;
+    }
+
+    static long keyOf(int day, int id) {
+        return ((long) day << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    static int idOf(long key) {
+        return (int) key;
+    }
+
+    void put(MatchRecord record) {
+        int id = record.getId();
+        if (id < 0) {
+            throw new IllegalArgumentException("전적 ID는 음수일 수 없습니다: " + id);
+        }
+        int result = results.encode(record.getResult());
+        if (result > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("전적 결과 종류가 너무 많습니다: " + record.getResult());
+        }
+        if (present.get(id)) {
+            unindex(id);
+        } else {
+            ensureCapacity(id + 1);
+            present.set(id);
+            count++;
+        }
+        warriorIds[id] = record.getWarriorId();
+        opponentIds[id] = record.getOpponentId();
+        days[id] = toDay(record.getMatchDate());
+        pointsChanges[id] = record.getPointsChange();
+        resultCodes[id] = (byte) result;
+        scoreCodes[id] = encodeScore(record.getScore());
+        gameTypeCodes[id] = gameTypes.encode(record.getGameType());
+        nameCodes[id] = names.encode(record.getOpponentName());
+        versions[id] = record.getVersion() != null ? record.getVersion() : NO_VERSION;
+        descriptions[id] = record.getDescription();
+        index(id);
+    }
+
+    boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        unindex(id);
+        present.clear(id);
+        descriptions[id] = null;
+        count--;
+        return true;
+    }
+
+    void clear() {
+        present.clear();
+        count = 0;
+        Arrays.fill(descriptions, null);
+        latest.clear();
+        byWarrior.clear();
+        totals.clear();
+        leaderboard.clear();
+        rivals.clear();
+    }
+
+    // 저장된 그대로 (없으면 null)
+    MatchRecord get(int id) {
+        if (!contains(id)) {
+            return null;
+        }
+        return fill(new MatchRecord(), id, warriorIds[id]);
+    }
+
+    // viewerId 배틀러 입장으로 (MatchRecord.viewFor 와 같은 규칙)
+    MatchRecord view(int id, int viewerId) {
+        return fill(new MatchRecord(), id, viewerId);
+    }
+
+    List<MatchRecord> all() {
+        List<MatchRecord> list = new ArrayList<>(count);
+        for (int id = present.nextSetBit(0); id >= 0; id = present.nextSetBit(id + 1)) {
+            list.add(get(id));
+        }
+        return list;
+    }
+
+    // 전체 최신순 순회 - upperExclusive 키 미만부터
+    void forEachLatest(long upperExclusive, LongPredicate visitor) {
+        latest.forEachDescendingBelow(upperExclusive, visitor);
+    }
+
+    // 배틀러 전적 최신순 순회 - upperExclusive 키 미만부터
+    void forEachByWarrior(int warriorId, long upperExclusive, LongPredicate visitor) {
+        SortedLongSet index = byWarrior.get(warriorId);
+        if (index != null) {
+            index.forEachDescendingBelow(upperExclusive, visitor);
+        }
+    }
+
+    int countByWarrior(int warriorId) {
+        SortedLongSet index = byWarrior.get(warriorId);
+        return index != null ? index.size() : 0;
+    }
+
+    // 배틀러 통계 (없으면 null) - 누적값을 그대로 옮기므로 전적 수와 무관
+    MatchStats stats(int warriorId) {
+        Totals t = totals.get(warriorId);
+        if (t == null) {
+            return null;
+        }
+        // 읽기 잠금은 여러 스레드가 함께 가지므로 연속 기록 재계산은 배틀러 단위로 동기화
+        synchronized (t) {
+            if (t.streakDirty) {
+                recomputeStreak(warriorId, t);
+            }
+            Map<String, MatchStats.GameTypeStats> byGameType = new LinkedHashMap<>();
+            for (int code = 0; code < t.gameTypePoints.length; code++) {
+                int base = code * 4;
+                if (t.byGameType[base] > 0) {
+                    String gameType = gameTypes.decode(code);
+                    byGameType.put(gameType != null ? gameType : "기타", new MatchStats.GameTypeStats(
+                            t.byGameType[base], t.byGameType[base + 1], t.byGameType[base + 2], t.byGameType[base + 3],
+                            t.gameTypePoints[code]));
+                }
+            }
+            double winRate = t.matches > 0 ? (double) t.wins / t.matches * 100 : 0;
+            return new MatchStats(t.matches, t.wins, t.losses, t.draws, winRate, t.pointsGained, t.pointsLost,
+                    t.longestWinStreak, t.currentWinStreak, byGameType);
+        }
+    }
+
+    // 기간 순위 offset 번째부터 최대 limit 명 (배틀러 -> 기간 포인트)
+    Map<Integer, Long> windowRanking(WindowedLeaderboard.Window window, int offset, int limit) {
+        return leaderboard.range(window, offset, limit);
+    }
+
+    int windowRank(WindowedLeaderboard.Window window, int warriorId) {
+        return leaderboard.rankOf(window, warriorId);
+    }
+
+    // warriorId 입장의 상대 전적 (맞붙은 적이 없으면 null) - 최근 경기는 최대 recent 건
+    HeadToHead headToHead(int warriorId, int opponentId, int recent) {
+        Map<Integer, Pair> opponents = rivals.get(warriorId);
+        Pair pair = opponents != null ? opponents.get(opponentId) : null;
+        if (pair == null) {
+            return null;
+        }
+        List<Integer> recentIds = new ArrayList<>();
+        if (recent > 0) {
+            pair.keys.forEachDescending(key -> {
+                recentIds.add(idOf(key));
+                return recentIds.size() < recent;
+            });
+        }
+        return toHeadToHead(pair, warriorId, recentIds);
+    }
+
+    // 가장 많이 맞붙은 상대 순 (같으면 상대 ID 순) 최대 limit 명
+    List<HeadToHead> topRivals(int warriorId, int limit) {
+        Map<Integer, Pair> opponents = rivals.get(warriorId);
+        if (opponents == null || limit <= 0) {
+            return List.of();
+        }
+        return opponents.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<Integer, Pair> entry) -> -entry.getValue().matches)
+                        .thenComparing(Map.Entry::getKey))
+                .limit(limit)
+                .map(entry -> toHeadToHead(entry.getValue(), warriorId, List.of()))
+                .toList();
+    }
+
+    private static HeadToHead toHeadToHead(Pair pair, int warriorId, List<Integer> recentIds) {
+        boolean low = warriorId == pair.low;
+        return new HeadToHead(warriorId, low ? pair.high : pair.low, null, pair.matches,
+                low ? pair.lowWins : pair.highWins, low ? pair.highWins : pair.lowWins, pair.draws,
+                low ? pair.lowPoints : -pair.lowPoints, recentIds);
+    }
+
+    // 전체 통계를 이력에서 다시 계산 (배틀러별로 나눠 병렬 처리, 호출자가 쓰기 잠금을 가진 상태)
+    int rebuildStats() {
+        totals = byWarrior.entrySet().parallelStream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> {
+                    int warriorId = entry.getKey();
+                    Totals t = new Totals();
+                    entry.getValue().forEachAscending(key -> {
+                        addTotals(t, warriorId, idOf(key), key, 1);
+                        return true;
+                    });
+                    return t;
+                }, (left, right) -> left, HashMap::new));
+        return totals.size();
+    }
+
+    // 배틀러 전적을 오래된 순으로 순회 - 매번 같은 객체에 값만 바꿔 넘기므로 visitor 는 객체를 보관하면 안 됨
+    void scanByWarrior(int warriorId, Consumer<MatchRecord> visitor) {
+        SortedLongSet index = byWarrior.get(warriorId);
+        if (index == null) {
+            return;
+        }
+        MatchRecord cursor = new MatchRecord();
+        index.forEachAscending(key -> {
+            visitor.accept(fill(cursor, idOf(key), warriorId));
+            return true;
+        });
+    }
+
+    private MatchRecord fill(MatchRecord target, int id, int viewerId) {
+        boolean flipped = flipped(id, viewerId);
+        byte result = flipped ? oppositeResult(resultCodes[id]) : resultCodes[id];
+        int day = days[id];
+        LocalDate previous = target.getMatchDate();
+        target.setId(id);
+        target.setWarriorId(flipped ? opponentIds[id] : warriorIds[id]);
+        target.setOpponentId(flipped ? warriorIds[id] : opponentIds[id]);
+        target.setResult(results.decode(result));
+        target.setScore(scores.decode(flipped ? reversedScores[scoreCodes[id]] : scoreCodes[id]));
+        // 날짜순으로 순회할 때는 같은 날짜가 이어지므로 이전 객체를 재사용
+        target.setMatchDate(day == NO_DATE ? null
+                : previous != null && previous.toEpochDay() == day ? previous : LocalDate.ofEpochDay(day));
+        target.setGameType(gameTypes.decode(gameTypeCodes[id]));
+        target.setDescription(descriptions[id]);
+        target.setOpponentName(flipped ? null : names.decode(nameCodes[id]));
+        target.setPointsChange(flipped ? -pointsChanges[id] : pointsChanges[id]);
+        target.setVersion(versions[id] != NO_VERSION ? versions[id] : null);
+        return target;
+    }
+
+    private int pointsFor(int id, int viewerId) {
+        return flipped(id, viewerId) ? -pointsChanges[id] : pointsChanges[id];
+    }
+
+    private boolean flipped(int id, int viewerId) {
+        return viewerId != warriorIds[id] && viewerId == opponentIds[id];
+    }
+
+    // MatchRecord.oppositeResult 와 같음 (승/패 외에는 무승부)
+    private static byte oppositeResult(byte result) {
+        if (result == WIN) {
+            return LOSE;
+        }
+        if (result == LOSE) {
+            return WIN;
+        }
+        return DRAW;
+    }
+
+    // 상대방 입장 조회 시 문자열을 새로 만들지 않도록 뒤집은 점수도 함께 사전에 등록
+    private int encodeScore(String score) {
+        int code = scores.encode(score);
+        if (code >= reversedScores.length) {
+            reversedScores = Arrays.copyOf(reversedScores, Math.max(code + 1, reversedScores.length * 2));
+        }
+        if (code != 0 && reversedScores[code] == 0) {
+            int reversed = scores.encode(MatchRecord.reverseScore(score));
+            if (reversed >= reversedScores.length) {
+                reversedScores = Arrays.copyOf(reversedScores, Math.max(reversed + 1, reversedScores.length * 2));
+            }
+            reversedScores[code] = reversed;
+            reversedScores[reversed] = code;
+        }
+        return code;
+    }
+
+    private void index(int id) {
+        long key = keyOf(days[id], id);
+        latest.add(key);
+        index(warriorIds[id], id, key);
+        index(opponentIds[id], id, key);
+        addPair(id, key, 1);
+    }
+
+    private void index(int warriorId, int id, long key) {
+        // 자기 자신과의 경기는 한 번만 등록
+        if (byWarrior.computeIfAbsent(warriorId, k -> new SortedLongSet()).add(key)) {
+            addTotals(totals.computeIfAbsent(warriorId, k -> new Totals()), warriorId, id, key, 1);
+            leaderboard.add(warriorId, days[id], pointsFor(id, warriorId), 1);
+        }
+    }
+
+    private void unindex(int id) {
+        long key = keyOf(days[id], id);
+        latest.remove(key);
+        unindex(warriorIds[id], id, key);
+        unindex(opponentIds[id], id, key);
+        addPair(id, key, -1);
+    }
+
+    // 전적 한 건을 두 배틀러의 상대 전적에 더하거나(sign 1) 뺌(sign -1) - 자기 자신과의 경기는 제외
+    private void addPair(int id, long key, int sign) {
+        int low = Math.min(warriorIds[id], opponentIds[id]);
+        int high = Math.max(warriorIds[id], opponentIds[id]);
+        if (low == high) {
+            return;
+        }
+        Map<Integer, Pair> opponents = rivals.get(low);
+        Pair pair = opponents != null ? opponents.get(high) : null;
+        if (pair == null) {
+            if (sign < 0) {
+                return;
+            }
+            pair = new Pair(low, high);
+            rivals.computeIfAbsent(low, k -> new HashMap<>()).put(high, pair);
+            rivals.computeIfAbsent(high, k -> new HashMap<>()).put(low, pair);
+        }
+        if (sign > 0 ? !pair.keys.add(key) : !pair.keys.remove(key)) {
+            return;
+        }
+        byte result = flipped(id, low) ? oppositeResult(resultCodes[id]) : resultCodes[id];
+        pair.matches += sign;
+        if (result == WIN) {
+            pair.lowWins += sign;
+        } else if (result == LOSE) {
+            pair.highWins += sign;
+        } else if (result == DRAW) {
+            pair.draws += sign;
+        }
+        pair.lowPoints += sign * (long) pointsFor(id, low);
+        if (pair.matches == 0) {
+            removeRival(low, high);
+            removeRival(high, low);
+        }
+    }
+
+    private void removeRival(int warriorId, int opponentId) {
+        Map<Integer, Pair> opponents = rivals.get(warriorId);
+        opponents.remove(opponentId);
+        if (opponents.isEmpty()) {
+            rivals.remove(warriorId);
+        }
+    }
+
+    private void unindex(int warriorId, int id, long key) {
+        SortedLongSet index = byWarrior.get(warriorId);
+        if (index != null && index.remove(key)) {
+            leaderboard.add(warriorId, days[id], pointsFor(id, warriorId), -1);
+            if (index.isEmpty()) {
+                byWarrior.remove(warriorId);
+                totals.remove(warriorId);
+            } else {
+                addTotals(totals.get(warriorId), warriorId, id, key, -1);
+            }
+        }
+    }
+
+    // 전적 한 건을 배틀러 통계에 더하거나(sign 1) 뺌(sign -1)
+    private void addTotals(Totals t, int warriorId, int id, long key, int sign) {
+        boolean flipped = flipped(id, warriorId);
+        byte result = flipped ? oppositeResult(resultCodes[id]) : resultCodes[id];
+        int points = pointsFor(id, warriorId);
+        int gameType = gameTypeCodes[id];
+        t.matches += sign;
+        if (result == WIN) {
+            t.wins += sign;
+        } else if (result == LOSE) {
+            t.losses += sign;
+        } else if (result == DRAW) {
+            t.draws += sign;
+        }
+        if (points > 0) {
+            t.pointsGained += sign * (long) points;
+        } else {
+            t.pointsLost -= sign * (long) points;
+        }
+        if (gameType >= t.gameTypePoints.length) {
+            int length = gameTypes.size() + 1;
+            t.byGameType = Arrays.copyOf(t.byGameType, length * 4);
+            t.gameTypePoints = Arrays.copyOf(t.gameTypePoints, length);
+        }
+        int base = gameType * 4;
+        t.byGameType[base] += sign;
+        if (result >= WIN && result <= DRAW) {
+            t.byGameType[base + result] += sign;
+        }
+        t.gameTypePoints[gameType] += sign * (long) points;
+
+        if (sign > 0 && !t.streakDirty && key > t.lastKey) {
+            t.currentWinStreak = result == WIN ? t.currentWinStreak + 1 : 0;
+            t.longestWinStreak = Math.max(t.longestWinStreak, t.currentWinStreak);
+            t.lastKey = key;
+        } else {
+            t.streakDirty = true;
+        }
+    }
+
+    // 배틀러 결과 코드만 날짜순으로 읽어 연속 승리 다시 계산
+    private void recomputeStreak(int warriorId, Totals t) {
+        int[] streak = new int[2]; // {현재, 최고}
+        long[] last = {Long.MIN_VALUE};
+        SortedLongSet index = byWarrior.get(warriorId);
+        if (index != null) {
+            index.forEachAscending(key -> {
+                int id = idOf(key);
+                byte result = flipped(id, warriorId) ? oppositeResult(resultCodes[id]) : resultCodes[id];
+                streak[0] = result == WIN ? streak[0] + 1 : 0;
+                streak[1] = Math.max(streak[1], streak[0]);
+                last[0] = key;
+                return true;
+            });
+        }
+        t.currentWinStreak = streak[0];
+        t.longestWinStreak = streak[1];
+        t.lastKey = last[0];
+        t.streakDirty = false;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= days.length) {
+            return;
+        }
+        int capacity = Math.max(required, Math.max(16, days.length + (days.length >> 1)));
+        warriorIds = Arrays.copyOf(warriorIds, capacity);
+        opponentIds = Arrays.copyOf(opponentIds, capacity);
+        days = Arrays.copyOf(days, capacity);
+        pointsChanges = Arrays.copyOf(pointsChanges, capacity);
+        scoreCodes = Arrays.copyOf(scoreCodes, capacity);
+        gameTypeCodes = Arrays.copyOf(gameTypeCodes, capacity);
+        nameCodes = Arrays.copyOf(nameCodes, capacity);
+        resultCodes = Arrays.copyOf(resultCodes, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+}
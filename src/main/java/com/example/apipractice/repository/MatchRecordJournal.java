@@ -0,0 +1,153 @@
+package com.example.apipractice.repository;
+
+import com.example.apipractice.domain.MatchRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// 전적 변경 내역을 한 줄씩 덧붙이는 추가 전용 로그 (NDJSON)
+public class MatchRecordJournal {
+
+    public enum Op { SAVE, UPDATE, DELETE }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Op op;
+        private int id;
+        private MatchRecord record; // DELETE 인 경우 null
+    }
+
+    private final File file;
+    private final File rotatedFile; // 압축(스냅샷 기록) 진행 중인 로그
+    private final ObjectMapper objectMapper;
+    private FileOutputStream out;
+    private int entryCount = 0;
+
+    public MatchRecordJournal(String path, ObjectMapper objectMapper) {
+        this.file = new File(path);
+        this.rotatedFile = new File(path + ".compacting");
+        this.objectMapper = objectMapper;
+    }
+
+    // 여러 건을 한 줄씩 이어 붙인 바이트로 변환
+    public byte[] encode(List<Entry> entries) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (Entry entry : entries) {
+            buffer.write(objectMapper.writeValueAsBytes(entry));
+            buffer.write('\n');
+        }
+        return buffer.toByteArray();
+    }
+
+    // encode 결과를 한 번의 쓰기로 추가
+    public void appendEncoded(byte[] lines, int count) throws IOException {
+        if (out == null) {
+            file.getParentFile().mkdirs();
+            out = new FileOutputStream(file, true);
+        }
+        out.write(lines);
+        entryCount += count;
+    }
+
+    // 시작 시 재생할 로그 (압축 중이던 로그 -> 현재 로그 순)
+    public List<Entry> readAll() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        readInto(rotatedFile, entries);
+        readInto(file, entries);
+        entryCount = entries.size();
+        return entries;
+    }
+
+    // 재생 없이 기록 건수만 다시 셈 (바이너리 스냅샷으로 시작한 경우 압축 기준용)
+    public void recount() throws IOException {
+        entryCount = countLines(rotatedFile) + countLines(file);
+    }
+
+    // 로그 파일 크기 (압축 중이던 로그, 현재 로그) - 바이너리 스냅샷의 원본 표식용
+    public long[] lengths() {
+        return new long[]{rotatedFile.length(), file.length()};
+    }
+
+    private static int countLines(File source) throws IOException {
+        if (!source.exists()) {
+            return 0;
+        }
+        int count = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(source.toPath()))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // 현재 로그를 압축 대상으로 돌리고 새 로그로 전환
+    public void rotate() throws IOException {
+        close();
+        if (file.exists()) {
+            if (rotatedFile.exists()) {
+                // 이전 압축이 실패한 경우 뒤에 이어 붙여 순서를 유지
+                Files.write(rotatedFile.toPath(), Files.readAllBytes(file.toPath()), StandardOpenOption.APPEND);
+                Files.delete(file.toPath());
+            } else {
+                Files.move(file.toPath(), rotatedFile.toPath());
+            }
+        }
+        entryCount = 0;
+    }
+
+    // 스냅샷 기록이 끝난 뒤 압축 대상 로그 삭제
+    public void discardRotated() throws IOException {
+        Files.deleteIfExists(rotatedFile.toPath());
+    }
+
+    public int size() {
+        return entryCount;
+    }
+
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private void readInto(File source, List<Entry> entries) throws IOException {
+        if (!source.exists()) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(source.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    entries.add(objectMapper.readValue(line, Entry.class));
+                } catch (IOException e) {
+                    // 비정상 종료로 잘린 마지막 줄은 무시
+                    System.err.println("전적 로그 손상 줄 무시: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -1,13 +1,29 @@
 package com.example.apipractice.repository;
 
+import com.example.apipractice.domain.HeadToHead;
 import com.example.apipractice.domain.MatchRecord;
+import com.example.apipractice.domain.MatchStats;
+import com.example.apipractice.util.WindowedLeaderboard;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface MatchRecordRepository {
     List<MatchRecord> findAll() throws IOException;
+    List<MatchRecord> findPage(int afterId, LocalDate since, int limit) throws IOException;
+    List<MatchRecord> findLatest(LocalDate afterDate, Integer afterId, int limit) throws IOException;
     List<MatchRecord> findByWarriorId(int warriorId) throws IOException;
+    List<MatchRecord> findByWarriorId(int warriorId, int limit, LocalDate before) throws IOException;
+    MatchStats findStatsByWarriorId(int warriorId) throws IOException;
+    int rebuildStats() throws IOException;
+    Map<Integer, Long> findWindowRanking(WindowedLeaderboard.Window window, int offset, int limit) throws IOException;
+    int findWindowRank(WindowedLeaderboard.Window window, int warriorId) throws IOException;
+    HeadToHead findHeadToHead(int warriorId, int opponentId, int recent) throws IOException;
+    List<HeadToHead> findTopRivals(int warriorId, int limit) throws IOException;
+    void scanByWarriorId(int warriorId, Consumer<MatchRecord> visitor) throws IOException;
     void save(MatchRecord record) throws IOException;
     void update(int id, MatchRecord record) throws IOException;
     void delete(int id) throws IOException;
@@ -1,104 +1,692 @@
 package com.example.apipractice.repository;
 
+import com.example.apipractice.domain.HeadToHead;
 import com.example.apipractice.domain.MatchRecord;
+import com.example.apipractice.domain.MatchStats;
+import com.example.apipractice.util.AtomicFiles;
+import com.example.apipractice.util.BinarySnapshot;
+import com.example.apipractice.util.WindowedLeaderboard;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 @Repository
-public class MatchRecordRepositoryImpl implements MatchRecordRepository {
+public class MatchRecordRepositoryImpl implements MatchRecordRepository,
+        TransactionalStore<MatchRecordRepositoryImpl.Pending>, ReplicatedStore {
+
+    // 작업 단위 동안의 변경 내역
+    public static class Pending {
+        final Map<Integer, MatchRecord> originals = new HashMap<>(); // 작업 전 값 (없던 전적은 null)
+        final List<MatchRecordJournal.Entry> entries = new ArrayList<>();
+        int originalMaxId = -1;
+        byte[] journalBytes;
+        Path tempFile;
+        boolean released;
+    }
 
     private static final String RESOURCE_FILE = "match_records.json";
     private static final String EXTERNAL_FILE = "./data/match_records.json";
+    private static final String JOURNAL_FILE = "./data/match_records.journal";
+    private static final String STORE_NAME = "match-records";
+    private static final String SNAPSHOT_FILE = "./data/snapshot/match_records.bin";
+    // 스냅샷 JSON 형식 버전 - 1: 전적 배열만 있고 경기마다 상대방 입장 전적도 따로 저장
+    //                       2: {"formatVersion", "records"} 경기당 한 건
+    private static final int FORMAT_VERSION = 2;
+    private static final TypeReference<List<MatchRecord>> RECORD_LIST = new TypeReference<>() {};
+
+    // 스냅샷 JSON 에서 읽은 형식 버전과 전적
+    private record DataFile(int formatVersion, List<MatchRecord> records) {
+    }
+
     private final ObjectMapper objectMapper;
+    private final MatchRecordJournal journal;
+    private final boolean journalMode;
+    private final int compactThreshold;
+    private final UnitOfWork unitOfWork;
+    private final ChangeLog changeLog;
+    private final StoreLock lock;
+    private final boolean snapshotEnabled;
+    private volatile long[] snapshotStamp; // 마지막으로 기록한 바이너리 스냅샷의 원본 파일 표식
+    private int openUnits = 0; // 반영 전 변경이 있는 작업 수 (그동안은 압축하지 않음)
+
+    // 메모리 상주 저장소 (스냅샷 + 로그 재생 결과, 경기당 한 건) - 기본형 배열 열 저장 + 배틀러별/전체 최신순 인덱스
+    private final MatchRecordColumns records;
+    private int maxId = 0;
 
     @Autowired
-    public MatchRecordRepositoryImpl(ObjectMapper objectMapper) {
+    public MatchRecordRepositoryImpl(ObjectMapper objectMapper,
+                                     UnitOfWork unitOfWork,
+                                     StoreLocks storeLocks,
+                                     ChangeLog changeLog,
+                                     @Value("${match-records.storage-mode:journal}") String storageMode,
+                                     @Value("${match-records.journal.compact-threshold:1000}") int compactThreshold,
+                                     @Value("${storage.snapshot.enabled:true}") boolean snapshotEnabled,
+                                     @Value("${ranking.season-months:3}") int seasonMonths) {
         this.objectMapper = objectMapper;
+        this.unitOfWork = unitOfWork;
+        this.changeLog = changeLog;
+        this.lock = storeLocks.create(STORE_NAME);
+        changeLog.register(this);
+        this.journal = new MatchRecordJournal(JOURNAL_FILE, objectMapper);
+        this.journalMode = "journal".equalsIgnoreCase(storageMode);
+        this.compactThreshold = compactThreshold;
+        this.snapshotEnabled = snapshotEnabled;
+        this.records = new MatchRecordColumns(seasonMonths);
+    }
+
+    // 시작 시 스냅샷을 읽고 로그를 재생
+    @PostConstruct
+    public void init() throws IOException {
+        if (changeLog.isReplica()) {
+            return; // 복제 노드는 주 노드의 파일 대신 변경 로그(전체 상태로 시작하는 구간)로 채움
+        }
+        try (StoreLock.Hold held = lock.write()) {
+            // 스냅샷 JSON 과 로그가 바이너리 스냅샷 이후 그대로면 파싱/재생 없이 바로 적재
+            boolean fromBinary = snapshotEnabled && readBinarySnapshot();
+            int formatVersion;
+            if (fromBinary) {
+                journal.recount();
+                formatVersion = readFormatVersion();
+            } else {
+                DataFile file = readSnapshot();
+                formatVersion = file.formatVersion();
+                for (MatchRecord record : file.records()) {
+                    records.put(record);
+                }
+                for (MatchRecordJournal.Entry entry : journal.readAll()) {
+                    if (entry.getOp() == MatchRecordJournal.Op.DELETE) {
+                        records.remove(entry.getId());
+                    } else {
+                        records.put(entry.getRecord());
+                    }
+                }
+            }
+            maxId = records.lastId();
+            if (formatVersion < FORMAT_VERSION) {
+                // 바이너리 스냅샷은 이미 정리된 메모리 상태를 기록한 것이므로 형식 표시만 남김
+                migrateFormat(!fromBinary);
+            }
+        }
+    }
+
+    // 형식 버전 1 데이터를 한 번만 변환 - 변환 후 파일에 형식 버전이 남으므로 다음 시작부터는 실행되지 않음
+    private void migrateFormat(boolean collapseMirrors) throws IOException {
+        List<Integer> removed = collapseMirrors ? collapseMirroredRecords() : List.of();
+        // 변환된 상태를 형식 버전과 함께 스냅샷으로 남기고 로그는 비움
+        writeToFile(records.all());
+        if (journalMode) {
+            journal.rotate();
+            journal.discardRotated();
+        }
+        System.out.println("전적 파일을 형식 버전 " + FORMAT_VERSION + "(경기당 한 건)으로 변환했습니다."
+                + " 정리한 상대방 입장 중복 전적 " + removed.size() + "건" + (removed.isEmpty() ? "" : ": " + removed));
+    }
+
+    // 이전 형식은 경기마다 상대방 입장의 전적을 한 건 더 저장했으므로, 짝이 되는 전적을 찾아 먼저 저장된 쪽만 남김
+    // 형식 버전 1 데이터에만 적용 (경기당 한 건 형식에서는 같은 날 반대편에서 입력한 재대결도 별도 경기임)
+    private List<Integer> collapseMirroredRecords() {
+        Map<String, List<MatchRecord>> kept = new HashMap<>();
+        List<Integer> mirrors = new ArrayList<>();
+        for (MatchRecord record : records.all()) {
+            String key = Math.min(record.getWarriorId(), record.getOpponentId()) + ":"
+                    + Math.max(record.getWarriorId(), record.getOpponentId()) + ":"
+                    + record.getMatchDate() + ":" + record.getGameType();
+            List<MatchRecord> candidates = kept.computeIfAbsent(key, k -> new ArrayList<>());
+            MatchRecord original = candidates.stream()
+                    .filter(candidate -> isMirror(candidate, record))
+                    .findFirst()
+                    .orElse(null);
+            if (original != null) {
+                candidates.remove(original); // 한 전적은 한 번만 짝지음
+                mirrors.add(record.getId());
+            } else {
+                candidates.add(record);
+            }
+        }
+        mirrors.forEach(records::remove);
+        return mirrors;
+    }
+
+    private static boolean isMirror(MatchRecord original, MatchRecord candidate) {
+        return original.getWarriorId() == candidate.getOpponentId()
+                && original.getOpponentId() == candidate.getWarriorId()
+                && original.getWarriorId() != original.getOpponentId()
+                && MatchRecord.oppositeResult(original.getResult()).equals(candidate.getResult())
+                && (Objects.equals(original.getScore(), candidate.getScore())
+                    || Objects.equals(MatchRecord.reverseScore(original.getScore()), candidate.getScore()));
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            journal.close();
+        }
     }
 
+    // 경기당 한 건 (저장된 쪽 배틀러 기준)
     @Override
     public List<MatchRecord> findAll() throws IOException {
-        // 먼저 외부 파일에서 읽기 시도
-        File externalFile = new File(EXTERNAL_FILE);
-        if (externalFile.exists()) {
-            return objectMapper.readValue(externalFile, new TypeReference<List<MatchRecord>>() {});
+        try (StoreLock.Hold held = lock.read()) {
+            return records.all();
         }
-        
-        // 외부 파일이 없으면 클래스패스에서 읽기
-        try {
-            var inputStream = getClass().getClassLoader().getResourceAsStream(RESOURCE_FILE);
-            if (inputStream == null) {
-                return List.of();
+    }
+
+    // 커서 방식 조회 - afterId 다음부터 id 순으로 since(포함) 이후 경기 최대 limit 건
+    // 호출마다 잠금을 잡았다 놓으므로 내보내는 동안 다른 요청을 막지 않음
+    @Override
+    public List<MatchRecord> findPage(int afterId, LocalDate since, int limit) throws IOException {
+        try (StoreLock.Hold held = lock.read()) {
+            List<MatchRecord> page = new ArrayList<>(Math.min(limit, records.size()));
+            // 날짜 조건은 날짜 열만 보고 거르고, 통과한 전적만 객체로 만듦
+            int sinceDay = since != null ? MatchRecordColumns.toDay(since) : Integer.MIN_VALUE;
+            for (int id = records.nextId(afterId); id >= 0 && page.size() < limit; id = records.nextId(id)) {
+                int day = records.dayOf(id);
+                if (since == null || (day != Integer.MIN_VALUE && day >= sinceDay)) {
+                    page.add(records.get(id));
+                }
             }
-            return objectMapper.readValue(inputStream, new TypeReference<List<MatchRecord>>() {});
-        } catch (Exception e) {
-            return List.of();
+            return page;
+        }
+    }
+
+    // 최신순 키셋 페이지 조회 - (afterDate, afterId) 커서 다음부터 최대 limit 건 (afterId 가 null 이면 처음부터)
+    @Override
+    public List<MatchRecord> findLatest(LocalDate afterDate, Integer afterId, int limit) throws IOException {
+        try (StoreLock.Hold held = lock.read()) {
+            List<MatchRecord> page = new ArrayList<>(Math.min(limit, records.size()));
+            if (limit <= 0) {
+                return page;
+            }
+            long bound = afterId != null
+                    ? MatchRecordColumns.keyOf(MatchRecordColumns.toDay(afterDate), afterId)
+                    : Long.MAX_VALUE;
+            records.forEachLatest(bound, key -> {
+                page.add(records.get(MatchRecordColumns.idOf(key)));
+                return page.size() < limit;
+            });
+            return page;
         }
     }
 
     @Override
     public List<MatchRecord> findByWarriorId(int warriorId) throws IOException {
-        List<MatchRecord> allRecords = findAll();
-        return allRecords.stream()
-                .filter(record -> record.getWarriorId() == warriorId)
-                .sorted((a, b) -> b.getMatchDate().compareTo(a.getMatchDate())) // 최신순 정렬
-                .toList();
+        try (StoreLock.Hold held = lock.read()) {
+            return findByWarriorId(warriorId, Integer.MAX_VALUE, null);
+        }
+    }
+
+    // 최신순으로 before(미포함) 이전 전적을 최대 limit 건 조회 (warriorId 배틀러 입장으로 변환)
+    @Override
+    public List<MatchRecord> findByWarriorId(int warriorId, int limit, LocalDate before) throws IOException {
+        try (StoreLock.Hold held = lock.read()) {
+            int count = records.countByWarrior(warriorId);
+            if (count == 0 || limit <= 0) {
+                return List.of();
+            }
+
+            // before 당일의 가장 작은 키 미만부터 읽어 before 당일 전적을 제외
+            long bound = before != null
+                    ? MatchRecordColumns.keyOf(MatchRecordColumns.toDay(before), 0)
+                    : Long.MAX_VALUE;
+            List<MatchRecord> result = new ArrayList<>(Math.min(limit, count));
+            records.forEachByWarrior(warriorId, bound, key -> {
+                result.add(records.view(MatchRecordColumns.idOf(key), warriorId));
+                return result.size() < limit;
+            });
+            return result;
+        }
+    }
+
+    // 전적 변경 때마다 갱신해 둔 배틀러 통계 (전적이 없으면 null)
+    @Override
+    public MatchStats findStatsByWarriorId(int warriorId) throws IOException {
+        try (StoreLock.Hold held = lock.read()) {
+            return records.stats(warriorId);
+        }
+    }
+
+    // 기간별 랭킹 offset 번째부터 최대 limit 명 (배틀러 ID -> 기간 포인트, 순위순)
+    @Override
+    public Map<Integer, Long> findWindowRanking(WindowedLeaderboard.Window window, int offset, int limit) throws IOException {
+        try (StoreLock.Hold held = lock.read()) {
+            return records.windowRanking(window, offset, limit);
+        }
+    }
+
+    @Override
+    public int findWindowRank(WindowedLeaderboard.Window window, int warriorId) throws IOException {
+        try (StoreLock.Hold held = lock.read()) {
+            return records.windowRank(window, warriorId);
+        }
+    }
+
+    // 두 배틀러의 상대 전적 (warriorId 입장, 맞붙은 적이 없으면 null)
+    @Override
+    public HeadToHead findHeadToHead(int warriorId, int opponentId, int recent) throws IOException {
+        try (StoreLock.Hold held = lock.read()) {
+            return records.headToHead(warriorId, opponentId, recent);
+        }
+    }
+
+    // 가장 많이 맞붙은 상대 최대 limit 명
+    @Override
+    public List<HeadToHead> findTopRivals(int warriorId, int limit) throws IOException {
+        try (StoreLock.Hold held = lock.read()) {
+            return records.topRivals(warriorId, limit);
+        }
+    }
+
+    // 배틀러 통계를 전체 이력에서 다시 계산 (배틀러별 병렬), 재계산한 배틀러 수 반환
+    @Override
+    public int rebuildStats() throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            long start = System.currentTimeMillis();
+            int warriors = records.rebuildStats();
+            System.out.println("전적 통계 재계산 완료: 배틀러 " + warriors + "명, " + (System.currentTimeMillis() - start) + "ms");
+            return warriors;
+        }
+    }
+
+    // 배틀러 전적을 오래된 순으로 순회 (같은 객체를 재사용하므로 visitor 는 값만 읽고 보관하지 않아야 함)
+    @Override
+    public void scanByWarriorId(int warriorId, Consumer<MatchRecord> visitor) throws IOException {
+        try (StoreLock.Hold held = lock.read()) {
+            records.scanByWarrior(warriorId, visitor);
+        }
     }
 
     @Override
     public void save(MatchRecord record) throws IOException {
-        List<MatchRecord> records = findAll();
-        int nextId = records.stream().mapToInt(MatchRecord::getId).max().orElse(0) + 1;
-        record.setId(nextId);
-        records.add(record);
-        writeToFile(records);
+        try (StoreLock.Hold held = lock.write()) {
+            unitOfWork.execute(() -> {
+                int nextId = maxId + 1;
+                touch(nextId);
+                record.setId(nextId);
+                record.setVersion(1L);
+                records.put(record);
+                maxId = nextId;
+                record(MatchRecordJournal.Op.SAVE, nextId, records.get(nextId));
+                return null;
+            });
+        }
     }
 
     @Override
     public void update(int id, MatchRecord record) throws IOException {
-        List<MatchRecord> records = findAll();
-        for (int i = 0; i < records.size(); i++) {
-            if (records.get(i).getId() == id) {
+        try (StoreLock.Hold held = lock.write()) {
+            unitOfWork.execute(() -> {
+                MatchRecord current = records.get(id);
+                if (current == null) {
+                    throw new NoSuchElementException("해당 ID의 전적 기록이 없습니다: " + id);
+                }
+                // 버전을 보낸 경우에만 비교 (이전 형식 데이터는 버전이 없으므로 0으로 취급)
+                long version = current.getVersion() != null ? current.getVersion() : 0L;
+                if (record.getVersion() != null && record.getVersion() != version) {
+                    throw new VersionConflictException("전적 " + id + " 버전 불일치 (요청 "
+                            + record.getVersion() + ", 현재 " + version + ")");
+                }
+                touch(id);
                 record.setId(id);
-                records.set(i, record);
-                writeToFile(records);
-                return;
-            }
+                record.setVersion(version + 1);
+                records.put(record);
+                record(MatchRecordJournal.Op.UPDATE, id, records.get(id));
+                return null;
+            });
         }
-        throw new NoSuchElementException("해당 ID의 전적 기록이 없습니다: " + id);
     }
 
     @Override
     public void delete(int id) throws IOException {
-        List<MatchRecord> records = findAll();
-        records.removeIf(record -> record.getId() == id);
-        writeToFile(records);
+        try (StoreLock.Hold held = lock.write()) {
+            unitOfWork.execute(() -> {
+                touch(id);
+                records.remove(id);
+                record(MatchRecordJournal.Op.DELETE, id, null);
+                return null;
+            });
+        }
     }
 
     @Override
     public MatchRecord findById(int id) throws IOException {
-        List<MatchRecord> records = findAll();
-        return records.stream()
-                .filter(record -> record.getId() == id)
-                .findFirst()
-                .orElse(null);
+        try (StoreLock.Hold held = lock.read()) {
+            return records.get(id);
+        }
     }
 
-    private void writeToFile(List<MatchRecord> records) throws IOException {
-        // 외부 디렉토리 생성
+    // 작업 단위에 참여하고 변경 전 값을 기록 (id 당 처음 한 번만)
+    private void touch(int id) {
+        Pending pending = unitOfWork.pending(this);
+        if (pending.originalMaxId < 0) {
+            pending.originalMaxId = maxId;
+        }
+        if (!pending.originals.containsKey(id)) {
+            pending.originals.put(id, records.get(id));
+        }
+    }
+
+    private void record(MatchRecordJournal.Op op, int id, MatchRecord stored) {
+        unitOfWork.pending(this).entries.add(new MatchRecordJournal.Entry(op, id, stored));
+    }
+
+    @Override
+    public Pending newPending() {
+        try (StoreLock.Hold held = lock.write()) {
+            openUnits++;
+            return new Pending();
+        }
+    }
+
+    // 로그 모드면 추가할 줄들을 미리 직렬화, 아니면 전체 스냅샷을 임시 파일에 기록
+    @Override
+    public void prepare(Pending pending) throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            if (journalMode) {
+                pending.journalBytes = journal.encode(pending.entries);
+            } else {
+                pending.tempFile = writeTempFile(records.all());
+            }
+        }
+    }
+
+    // 작업 단위당 로그 추가 한 번 (또는 파일 교체 한 번)
+    @Override
+    public void commit(Pending pending) throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            try {
+                if (journalMode) {
+                    journal.appendEncoded(pending.journalBytes, pending.entries.size());
+                } else {
+                    moveIntoPlace(pending.tempFile);
+                }
+                ChangeLog.Batch batch = changeLog.changes(STORE_NAME);
+                for (MatchRecordJournal.Entry entry : pending.entries) {
+                    if (entry.getOp() == MatchRecordJournal.Op.DELETE) {
+                        batch.delete(entry.getId());
+                    } else {
+                        batch.put(entry.getId(), entry.getRecord());
+                    }
+                }
+                batch.append();
+            } finally {
+                release(pending);
+            }
+        }
+    }
+
+    @Override
+    public void rollback(Pending pending) {
+        try (StoreLock.Hold held = lock.write()) {
+            pending.originals.forEach((id, original) -> {
+                records.remove(id);
+                if (original != null) {
+                    records.put(original);
+                }
+            });
+            // 그 사이 전체 상태 기록에 반영 전 값이 실렸을 수 있으므로 되돌린 값도 변경 로그에 남김
+            ChangeLog.Batch batch = changeLog.changes(STORE_NAME);
+            pending.originals.forEach((id, original) -> {
+                if (original != null) {
+                    batch.put(id, original);
+                } else {
+                    batch.delete(id);
+                }
+            });
+            batch.append();
+            if (pending.originalMaxId >= 0) {
+                // 동시에 진행 중인 다른 작업이 그 사이 발급한 id 는 다시 쓰지 않도록 남아 있는 최대 id 이상으로 유지
+                maxId = Math.max(pending.originalMaxId, records.lastId());
+            }
+            if (pending.tempFile != null) {
+                try {
+                    Files.deleteIfExists(pending.tempFile);
+                } catch (IOException e) {
+                    System.err.println("임시 파일 삭제 실패: " + pending.tempFile);
+                }
+            }
+            release(pending);
+        }
+    }
+
+    private void release(Pending pending) {
+        if (!pending.released) {
+            pending.released = true;
+            openUnits--;
+        }
+    }
+
+    @Override
+    public String storeName() {
+        return STORE_NAME;
+    }
+
+    @Override
+    public void writeCheckpoint(ChangeLog changeLog) {
+        try (StoreLock.Hold held = lock.read()) {
+            ChangeLog.Batch batch = changeLog.changes(STORE_NAME).reset();
+            for (MatchRecord record : records.all()) {
+                batch.put(record.getId(), record);
+            }
+            batch.append();
+        }
+    }
+
+    // 복제 노드: 주 노드의 변경을 메모리와 인덱스에만 반영 (로그/스냅샷은 주 노드가 관리)
+    @Override
+    public void applyChange(ChangeLog.Change change) throws IOException {
+        try (StoreLock.Hold held = lock.write()) {
+            switch (change.getOp()) {
+                case RESET -> {
+                    records.clear();
+                    maxId = 0;
+                }
+                case PUT -> {
+                    MatchRecord record = changeLog.getObjectMapper().treeToValue(change.getValue(), MatchRecord.class);
+                    records.put(record);
+                    maxId = Math.max(maxId, record.getId());
+                }
+                case DELETE -> records.remove(change.getId());
+            }
+        }
+    }
+
+    // 로그가 쌓이면 백그라운드에서 스냅샷으로 압축
+    @Scheduled(fixedDelayString = "${match-records.journal.compact-interval-ms:30000}")
+    public void compactJournal() {
+        if (!journalMode || changeLog.isReplica()) {
+            return;
+        }
+        List<MatchRecord> snapshot;
+        try (StoreLock.Hold held = lock.write()) {
+            if (journal.size() < compactThreshold || openUnits > 0) {
+                return;
+            }
+            snapshot = records.all();
+            try {
+                journal.rotate();
+            } catch (IOException e) {
+                System.err.println("전적 로그 전환 중 오류: " + e.getMessage());
+                return;
+            }
+        }
+
+        // 잠금 안에서 만든 복사본이므로 잠금 밖에서 기록해도 안전
+        try {
+            writeToFile(snapshot);
+            journal.discardRotated();
+        } catch (IOException e) {
+            System.err.println("전적 스냅샷 기록 중 오류: " + e.getMessage());
+        }
+    }
+
+    // 반영 전 작업이 없을 때 메모리 상태를 바이너리 스냅샷으로 기록 (다음 시작 시 JSON 파싱과 로그 재생 생략)
+    @Scheduled(fixedDelayString = "${storage.snapshot.interval-ms:60000}")
+    public void writeBinarySnapshot() {
+        if (!snapshotEnabled || changeLog.isReplica()) {
+            return;
+        }
+        List<MatchRecord> snapshot;
+        long[] stamp;
+        try (StoreLock.Hold held = lock.read()) {
+            if (openUnits > 0) {
+                return;
+            }
+            stamp = sourceStamp();
+            if (Arrays.equals(stamp, snapshotStamp)) {
+                return;
+            }
+            snapshot = records.all();
+        }
+
+        // 잠금 안에서 만든 복사본이므로 잠금 밖에서 기록해도 안전
+        try {
+            BinarySnapshot.Writer body = new BinarySnapshot.Writer().putInt(snapshot.size());
+            for (MatchRecord record : snapshot) {
+                body.putInt(record.getId())
+                        .putInt(record.getWarriorId())
+                        .putInt(record.getOpponentId())
+                        .putString(record.getResult())
+                        .putString(record.getScore())
+                        .putNullableLong(record.getMatchDate() != null ? record.getMatchDate().toEpochDay() : null)
+                        .putString(record.getGameType())
+                        .putString(record.getDescription())
+                        .putString(record.getOpponentName())
+                        .putInt(record.getPointsChange())
+                        .putNullableLong(record.getVersion());
+            }
+            BinarySnapshot.write(SNAPSHOT_FILE, stamp, body);
+            snapshotStamp = stamp;
+        } catch (IOException e) {
+            System.err.println("전적 바이너리 스냅샷 기록 중 오류: " + e.getMessage());
+        }
+    }
+
+    private boolean readBinarySnapshot() {
+        long[] stamp = sourceStamp();
+        BinarySnapshot.Reader body = BinarySnapshot.read(SNAPSHOT_FILE, stamp);
+        if (body == null) {
+            return false;
+        }
+        int count = body.getInt();
+        for (int i = 0; i < count; i++) {
+            MatchRecord record = MatchRecord.builder()
+                    .id(body.getInt())
+                    .warriorId(body.getInt())
+                    .opponentId(body.getInt())
+                    .result(body.getString())
+                    .score(body.getString())
+                    .matchDate(toDate(body.getNullableLong()))
+                    .gameType(body.getString())
+                    .description(body.getString())
+                    .opponentName(body.getString())
+                    .pointsChange(body.getInt())
+                    .version(body.getNullableLong())
+                    .build();
+            records.put(record);
+        }
+        snapshotStamp = stamp;
+        return true;
+    }
+
+    private static LocalDate toDate(Long epochDay) {
+        return epochDay != null ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    // 원본 파일 표식 (스냅샷 JSON 수정 시각/크기 + 로그 파일 크기)
+    private long[] sourceStamp() {
+        File externalFile = new File(EXTERNAL_FILE);
+        long[] journalLengths = journal.lengths();
+        return new long[]{externalFile.lastModified(), externalFile.length(), journalLengths[0], journalLengths[1]};
+    }
+
+    private DataFile readSnapshot() throws IOException {
+        // 먼저 외부 파일에서 읽기 시도
+        File externalFile = new File(EXTERNAL_FILE);
+        if (externalFile.exists()) {
+            return parseDataFile(objectMapper.readTree(externalFile));
+        }
+
+        // 외부 파일이 없으면 클래스패스에서 읽기
+        try {
+            var inputStream = getClass().getClassLoader().getResourceAsStream(RESOURCE_FILE);
+            if (inputStream == null) {
+                return new DataFile(FORMAT_VERSION, List.of());
+            }
+            return parseDataFile(objectMapper.readTree(inputStream));
+        } catch (Exception e) {
+            return new DataFile(FORMAT_VERSION, List.of());
+        }
+    }
+
+    // 배열만 있으면 형식 버전 1 (형식 표시가 생기기 전 파일)
+    private DataFile parseDataFile(JsonNode root) throws IOException {
+        if (root.isArray()) {
+            return new DataFile(1, objectMapper.readerFor(RECORD_LIST).readValue(root));
+        }
+        List<MatchRecord> list = objectMapper.readerFor(RECORD_LIST).readValue(root.path("records"));
+        return new DataFile(root.path("formatVersion").asInt(1), list != null ? list : List.of());
+    }
+
+    // 바이너리 스냅샷으로 시작한 경우 JSON 전체를 읽지 않고 앞부분의 형식 버전만 확인 (배열로 시작하면 버전 1)
+    private int readFormatVersion() throws IOException {
         File externalFile = new File(EXTERNAL_FILE);
-        externalFile.getParentFile().mkdirs();
-        
-        // 외부 파일에 쓰기
-        objectMapper.writerWithDefaultPrettyPrinter().writeValue(externalFile, records);
+        if (!externalFile.exists()) {
+            return 1; // 아직 클래스패스의 초기 데이터(버전 1)만 있음
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(externalFile)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return 1;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("formatVersion".equals(field)) {
+                    return parser.getIntValue();
+                }
+                parser.skipChildren();
+            }
+            return 1;
+        }
+    }
+
+    private void writeToFile(List<MatchRecord> records) throws IOException {
+        // 임시 파일에 쓴 뒤 교체하여 중간 상태가 남지 않도록 함
+        moveIntoPlace(writeTempFile(records));
+    }
+
+    private Path writeTempFile(List<MatchRecord> records) throws IOException {
+        Path tempFile = AtomicFiles.createTempFile(new File(EXTERNAL_FILE).toPath());
+        Map<String, Object> file = new LinkedHashMap<>();
+        file.put("formatVersion", FORMAT_VERSION);
+        file.put("records", records);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), file);
+        return tempFile;
+    }
+
+    private void moveIntoPlace(Path tempFile) throws IOException {
+        AtomicFiles.moveIntoPlace(tempFile, new File(EXTERNAL_FILE).toPath());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.example.apipractice.repository;
+
+import java.util.List;
+
+// 배틀러 한 명의 변경 전후 순위 (1부터, 없으면 0) - 저장소가 변경과 같은 잠금 안에서 계산
+// topAfter: 상위 구간에서 밀려난 경우 변경 직후 상위 배틀러 id (순위순, 새로 들어온 배틀러 확인용), 아니면 비어 있음
+public record RankChange(int oldRank, int newRank, List<Integer> topAfter) {
+
+    public static final RankChange NONE = new RankChange(0, 0, List.of());
+
+    // 변경 직후 해당 순위의 배틀러 id (topAfter 에 없으면 null)
+    public Integer idAtRank(int rank) {
+        return rank >= 1 && rank <= topAfter.size() ? topAfter.get(rank - 1) : null;
+    }
+}
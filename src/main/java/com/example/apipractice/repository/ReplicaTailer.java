@@ -0,0 +1,148 @@
+package com.example.apipractice.repository;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 복제 노드: 공유 디렉토리의 변경 로그를 따라 읽으며 메모리 상태를 최신으로 유지
+@Component
+public class ReplicaTailer {
+
+    private static final int READ_CHUNK = 1 << 20;
+
+    private final ChangeLog changeLog;
+
+    private File current;          // 읽고 있는 구간
+    private long offset = 0;       // 구간 안에서 다음에 읽을 위치 (완전한 줄 단위)
+    private long lastSeq = 0;      // 마지막으로 반영한 순번
+    private long applied = 0;
+    private long lastAppliedAt = 0;
+
+    public ReplicaTailer(ChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    @Scheduled(fixedDelayString = "${storage.changelog.poll-interval-ms:200}")
+    public void poll() {
+        if (!changeLog.isReplica()) {
+            return;
+        }
+        try {
+            catchUp();
+        } catch (IOException e) {
+            System.err.println("변경 로그 읽기 중 오류: " + e.getMessage());
+        }
+    }
+
+    synchronized void catchUp() throws IOException {
+        // 구간 목록을 먼저 확인해야, 더 새로운 구간이 있을 때 현재 구간이 이미 닫혔다고 볼 수 있음
+        List<File> segments = ChangeLog.listSegments(changeLog.getDir());
+        if (segments.isEmpty()) {
+            return;
+        }
+        if (current == null || !current.exists()) {
+            // 처음 시작했거나 읽던 구간이 정리된 경우, 전체 상태로 시작하는 가장 최근 구간부터 읽음
+            if (current != null) {
+                System.err.println("읽던 변경 로그 구간이 삭제되어 최근 구간부터 다시 맞춥니다: " + current.getName());
+            }
+            moveTo(segments.get(segments.size() - 1));
+        }
+
+        while (true) {
+            readNewLines();
+            int index = segments.indexOf(current);
+            if (index < 0 || index == segments.size() - 1) {
+                return;
+            }
+            moveTo(segments.get(index + 1));
+        }
+    }
+
+    private void moveTo(File segment) {
+        current = segment;
+        offset = 0;
+        // 주 노드의 로그 디렉토리가 초기화되어 순번이 다시 시작된 경우에도 따라갈 수 있도록 구간 시작 순번 기준으로 맞춤
+        lastSeq = firstSeqOf(segment) - 1;
+    }
+
+    // 완전한 줄만 반영하고, 아직 쓰는 중인 마지막 줄은 다음 주기에 다시 읽음
+    private void readNewLines() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(current, "r")) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long position = offset;
+            byte[] chunk = new byte[READ_CHUNK];
+            file.seek(position);
+            int read;
+            while ((read = file.read(chunk)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    position++;
+                    if (chunk[i] != '\n') {
+                        line.write(chunk[i]);
+                        continue;
+                    }
+                    apply(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    offset = position;
+                }
+            }
+        }
+    }
+
+    private void apply(String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        ChangeLog.Change change;
+        try {
+            change = changeLog.getObjectMapper().readValue(line, ChangeLog.Change.class);
+        } catch (IOException e) {
+            System.err.println("변경 로그 손상 줄 무시: " + e.getMessage());
+            return;
+        }
+        if (change.getSeq() <= lastSeq) {
+            return;
+        }
+        if (change.getSeq() != lastSeq + 1) {
+            System.err.println("변경 로그 순번 누락: " + (lastSeq + 1) + " ~ " + (change.getSeq() - 1));
+        }
+        ReplicatedStore store = changeLog.findStore(change.getStore());
+        if (store != null) {
+            try {
+                store.applyChange(change);
+            } catch (IOException | RuntimeException e) {
+                // 다음 구간의 전체 상태로 다시 맞춰지므로 기록만 하고 계속 진행
+                System.err.println("변경 반영 실패 (seq " + change.getSeq() + "): " + e.getMessage());
+            }
+        }
+        lastSeq = change.getSeq();
+        applied++;
+        lastAppliedAt = System.currentTimeMillis();
+    }
+
+    private static long firstSeqOf(File segment) {
+        String name = segment.getName();
+        try {
+            return Long.parseLong(name.substring(ChangeLog.SEGMENT_PREFIX.length(),
+                    name.length() - ChangeLog.SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("segment", current != null ? current.getName() : null);
+        status.put("lastSeq", lastSeq);
+        status.put("applied", applied);
+        status.put("lastAppliedAt", lastAppliedAt);
+        return status;
+    }
+}
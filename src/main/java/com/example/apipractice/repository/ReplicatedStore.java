@@ -0,0 +1,16 @@
+package com.example.apipractice.repository;
+
+import java.io.IOException;
+
+// 변경 로그로 복제되는 저장소
+public interface ReplicatedStore {
+
+    // 변경 로그에 기록되는 저장소 이름
+    String storeName();
+
+    // 새 로그 구간 시작 시 현재 전체 상태를 RESET + PUT 으로 기록 (저장소 잠금 안에서 기록해야 함)
+    void writeCheckpoint(ChangeLog changeLog) throws IOException;
+
+    // 복제 노드: 주 노드에서 기록된 변경 한 건을 메모리 상태에 반영
+    void applyChange(ChangeLog.Change change) throws IOException;
+}
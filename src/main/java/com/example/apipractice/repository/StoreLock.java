@@ -0,0 +1,138 @@
+package com.example.apipractice.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 저장소용 읽기/쓰기 잠금 (읽기끼리는 동시에, 쓰기는 단독으로 실행)
+// stripes > 1 이면 키(warriorId 등)별로 잠금을 나눠 서로 다른 키의 쓰기도 동시에 진행
+// 사용: try (StoreLock.Hold held = lock.read()) { ... }
+public class StoreLock {
+
+    public interface Hold extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final String name;
+    private final boolean fair;
+    private final ReentrantReadWriteLock[] stripes;
+
+    // 대기 시간 지표
+    private final LongAdder readAcquisitions = new LongAdder();
+    private final LongAdder writeAcquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+
+    StoreLock(String name, int stripes, boolean fair) {
+        this.name = name;
+        this.fair = fair;
+        this.stripes = new ReentrantReadWriteLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantReadWriteLock(fair);
+        }
+    }
+
+    public Hold read() {
+        return read(0);
+    }
+
+    public Hold write() {
+        return write(0);
+    }
+
+    public Hold read(int key) {
+        Lock lock = stripeOf(key).readLock();
+        acquire(lock);
+        readAcquisitions.increment();
+        return lock::unlock;
+    }
+
+    public Hold write(int key) {
+        ReentrantReadWriteLock stripe = stripeOf(key);
+        // 읽기 잠금을 쥔 채 쓰기 잠금을 요청하면 영원히 대기하므로 바로 실패시킴
+        if (stripe.getReadHoldCount() > 0) {
+            throw new IllegalStateException(name + ": 읽기 잠금을 가진 채 쓰기 잠금을 요청할 수 없습니다.");
+        }
+        Lock lock = stripe.writeLock();
+        acquire(lock);
+        writeAcquisitions.increment();
+        return lock::unlock;
+    }
+
+    // 여러 키의 쓰기 잠금을 함께 획득 (서로 기다리며 멈추지 않도록 항상 stripe 번호 순서로 잠금)
+    public Hold writeAll(Collection<Integer> keys) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (int key : keys) {
+            indexes.add(Math.floorMod(key, stripes.length));
+        }
+        List<Hold> holds = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                holds.add(write(index));
+            }
+        } catch (RuntimeException e) {
+            releaseAll(holds);
+            throw e;
+        }
+        return () -> releaseAll(holds);
+    }
+
+    // 모든 stripe 의 읽기 잠금 (전체를 일관되게 읽어야 할 때)
+    public Hold readAll() {
+        List<Hold> holds = new ArrayList<>(stripes.length);
+        for (int index = 0; index < stripes.length; index++) {
+            holds.add(read(index));
+        }
+        return () -> releaseAll(holds);
+    }
+
+    private static void releaseAll(List<Hold> holds) {
+        for (int i = holds.size() - 1; i >= 0; i--) {
+            holds.get(i).close();
+        }
+    }
+
+    private void acquire(Lock lock) {
+        // 경합이 없으면 시간 측정 생략 (공정 모드에서는 새치기하지 않도록 항상 대기열 사용)
+        if (!fair && lock.tryLock()) {
+            return;
+        }
+        long start = System.nanoTime();
+        lock.lock();
+        long waited = System.nanoTime() - start;
+        contended.increment();
+        waitNanos.add(waited);
+        maxWaitNanos.accumulate(waited);
+    }
+
+    private ReentrantReadWriteLock stripeOf(int key) {
+        return stripes[Math.floorMod(key, stripes.length)];
+    }
+
+    public Map<String, Object> getMetrics() {
+        long waits = contended.sum();
+        int queued = 0;
+        for (ReentrantReadWriteLock stripe : stripes) {
+            queued += stripe.getQueueLength();
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("fair", fair);
+        metrics.put("stripes", stripes.length);
+        metrics.put("readAcquisitions", readAcquisitions.sum());
+        metrics.put("writeAcquisitions", writeAcquisitions.sum());
+        metrics.put("contended", waits);
+        metrics.put("avgWaitMicros", waits > 0 ? waitNanos.sum() / waits / 1000 : 0);
+        metrics.put("maxWaitMicros", maxWaitNanos.get() / 1000);
+        metrics.put("queuedThreads", queued);
+        return metrics;
+    }
+}
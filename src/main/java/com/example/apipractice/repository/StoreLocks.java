@@ -0,0 +1,36 @@
+package com.example.apipractice.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 저장소 잠금 생성 및 지표 조회
+@Component
+public class StoreLocks {
+
+    private final boolean fair;
+    private final Map<String, StoreLock> locks = new ConcurrentHashMap<>();
+
+    public StoreLocks(@Value("${storage.locks.fair:false}") boolean fair) {
+        this.fair = fair;
+    }
+
+    // 파일 하나를 통째로 보호하는 잠금
+    public StoreLock create(String name) {
+        return striped(name, 1);
+    }
+
+    // 키별로 나눈 잠금 (배틀러별 저장소용)
+    public StoreLock striped(String name, int stripes) {
+        return locks.computeIfAbsent(name, key -> new StoreLock(key, stripes, fair));
+    }
+
+    public Map<String, Map<String, Object>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new TreeMap<>();
+        locks.forEach((name, lock) -> metrics.put(name, lock.getMetrics()));
+        return metrics;
+    }
+}
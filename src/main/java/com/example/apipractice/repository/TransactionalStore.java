@@ -0,0 +1,19 @@
+package com.example.apipractice.repository;
+
+import java.io.IOException;
+
+// 작업 단위(UnitOfWork)에 참여하는 저장소
+// P: 한 작업 단위 동안 저장소가 모아 두는 변경 내역 (되돌리기 정보 포함)
+public interface TransactionalStore<P> {
+
+    P newPending();
+
+    // 1단계: 디스크에 반영할 내용을 준비 (임시 파일 기록 등, 실패해도 기존 파일은 그대로)
+    void prepare(P pending) throws IOException;
+
+    // 2단계: 준비된 내용을 실제로 반영 (파일을 제자리에 옮긴 뒤에는 실패하지 않아야 함 - 실패하면 이 저장소는 되돌려짐)
+    void commit(P pending) throws IOException;
+
+    // 실패 시 메모리 상태를 작업 이전으로 되돌림 (반영을 마친 저장소에는 호출되지 않음)
+    void rollback(P pending);
+}
@@ -0,0 +1,132 @@
+package com.example.apipractice.repository;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 하나의 업무 작업 동안 여러 저장소의 변경을 모았다가 저장소마다 한 번씩 반영
+// 작업 중이나 준비(prepare) 단계에서 예외가 나면 모든 저장소의 메모리 상태를 되돌림
+// 반영(commit)은 저장소마다 따로 파일을 교체하므로 저장소 사이에서는 원자적이지 않음 -
+// 중간 저장소의 반영이 실패하면 이미 반영된 저장소는 메모리와 파일이 모두 새 상태로 남고, 나머지만 되돌림
+@Component
+public class UnitOfWork {
+
+    public interface Work<T> {
+        T run() throws IOException;
+    }
+
+    private static class Context {
+        final Map<TransactionalStore<?>, Object> pendings = new LinkedHashMap<>();
+        final Set<TransactionalStore<?>> committed = new HashSet<>();
+        final List<Runnable> onRollback = new ArrayList<>();
+    }
+
+    // 버전 충돌 시 최대 시도 횟수
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ThreadLocal<Context> current = new ThreadLocal<>();
+
+    // 작업 실행 (이미 진행 중인 작업이 있으면 그 작업에 합류)
+    public <T> T execute(Work<T> work) throws IOException {
+        if (current.get() != null) {
+            return work.run();
+        }
+
+        Context context = new Context();
+        current.set(context);
+        try {
+            T result = work.run();
+            commit(context);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            rollback(context);
+            throw e;
+        } finally {
+            current.remove();
+        }
+    }
+
+    // 버전 충돌 시 작업 전체를 처음부터 다시 실행 (이미 진행 중인 작업 안에서는 바깥 작업이 재시도)
+    public <T> T executeWithRetry(Work<T> work) throws IOException {
+        if (current.get() != null) {
+            return work.run();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return execute(work);
+            } catch (VersionConflictException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // 현재 작업에서 해당 저장소의 변경 내역 (처음 참여하면 새로 생성)
+    @SuppressWarnings("unchecked")
+    public <P> P pending(TransactionalStore<P> store) {
+        Context context = current.get();
+        if (context == null) {
+            throw new IllegalStateException("진행 중인 작업 단위가 없습니다");
+        }
+        return (P) context.pendings.computeIfAbsent(store, s -> store.newPending());
+    }
+
+    // 현재 작업에 이미 참여한 저장소의 변경 내역 (없으면 null)
+    @SuppressWarnings("unchecked")
+    public <P> P existingPending(TransactionalStore<P> store) {
+        Context context = current.get();
+        return context == null ? null : (P) context.pendings.get(store);
+    }
+
+    // 롤백 시 실행 (메모리 캐시 무효화 등) - 반영 단계에서 일부 저장소가 이미 반영된 뒤의 실패에는 실행하지 않음
+    public void onRollback(Runnable callback) {
+        Context context = current.get();
+        if (context != null) {
+            context.onRollback.add(callback);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void commit(Context context) throws IOException {
+        // 모든 저장소가 준비에 성공해야 실제 반영 시작
+        for (Map.Entry<TransactionalStore<?>, Object> entry : context.pendings.entrySet()) {
+            ((TransactionalStore) entry.getKey()).prepare(entry.getValue());
+        }
+        for (Map.Entry<TransactionalStore<?>, Object> entry : context.pendings.entrySet()) {
+            ((TransactionalStore) entry.getKey()).commit(entry.getValue());
+            context.committed.add(entry.getKey());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void rollback(Context context) {
+        if (!context.committed.isEmpty()) {
+            System.err.println("작업 단위 반영 중 일부 저장소만 반영됨: " + context.committed.size() + "/"
+                    + context.pendings.size() + " (반영된 저장소는 되돌리지 않음)");
+        }
+        for (Map.Entry<TransactionalStore<?>, Object> entry : context.pendings.entrySet()) {
+            // 이미 파일까지 반영된 저장소의 메모리를 되돌리면 파일과 어긋나므로 그대로 둠
+            if (context.committed.contains(entry.getKey())) {
+                continue;
+            }
+            try {
+                ((TransactionalStore) entry.getKey()).rollback(entry.getValue());
+            } catch (RuntimeException e) {
+                System.err.println("작업 단위 롤백 중 오류: " + e.getMessage());
+            }
+        }
+        // 포인트 원장 되돌리기 등은 이미 반영된 전적과 맞춰야 하므로 일부라도 반영됐으면 실행하지 않음
+        if (context.committed.isEmpty()) {
+            for (Runnable callback : context.onRollback) {
+                callback.run();
+            }
+        }
+    }
+}
@@ -10,4 +10,5 @@ public interface UserRepository {
     Optional<User> findById(Long id);
     Optional<User> findByEmail(String email);
     List<User> findAll();
+    List<User> findPage(Long afterId, int limit);
 }
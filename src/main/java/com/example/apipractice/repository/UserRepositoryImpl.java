@@ -36,4 +36,13 @@ public class UserRepositoryImpl implements UserRepository {
     public List<User> findAll() {
         return em.createQuery("SELECT u FROM User u", User.class).getResultList();
     }
+
+    // 키셋 페이지 조회 - 기본 키 인덱스로 커서 위치부터 읽으므로 페이지 비용이 전체 행 수와 무관
+    @Override
+    public List<User> findPage(Long afterId, int limit) {
+        return em.createQuery("SELECT u FROM User u WHERE u.id > :cursor ORDER BY u.id", User.class)
+                .setParameter("cursor", afterId != null ? afterId : 0L)
+                .setMaxResults(limit)
+                .getResultList();
+    }
 }
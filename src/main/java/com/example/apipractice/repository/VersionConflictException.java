@@ -0,0 +1,14 @@
+package com.example.apipractice.repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 읽은 뒤 다른 요청(또는 다른 서버)이 먼저 수정한 경우 - 다시 읽고 재시도해야 함
+@ResponseStatus(HttpStatus.CONFLICT)
+public class VersionConflictException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
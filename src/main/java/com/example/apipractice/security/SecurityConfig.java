@@ -71,13 +71,16 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable()) // CSRF 비활성화
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/users/register", "/api/users/login",
-                                "/api/keyboard-warriors/allow", "/api/keyboard-warriors/{id}", 
-                                "/api/keyboard-warriors/ranking", "/api/match-records/warrior/**", 
+                                "/api/keyboard-warriors/allow", "/api/keyboard-warriors/{id}", "/api/keyboard-warriors/{id}/rank", 
+                                "/api/keyboard-warriors/ranking", "/api/keyboard-warriors/search", "/api/match-records/warrior/**", "/api/match-records/head-to-head/**",
                                 "/api/achievements/warrior/{id}", "/api/upload/**", "/api/test/**").permitAll()
                         .requestMatchers("/images/**", "/static/**", "/css/**", "/js/**", "/favicon.ico").permitAll() // 정적 리소스 허용
                         .requestMatchers("/api/match-records").authenticated() // 전적 관리 API (CRUD)
                         .requestMatchers("/api/match-records/{id}").authenticated() // 전적 관리 API (개별 CRUD)
                         .requestMatchers("/api/match-records/migrate-opponent-names").authenticated() // 전적 마이그레이션 API
+                        .requestMatchers("/api/match-records/bulk").authenticated() // 전적 일괄 등록 API
+                        .requestMatchers("/api/match-records/export").authenticated() // 전적 내보내기 API
+                        .requestMatchers("/api/match-records/stats/rebuild").authenticated() // 전적 통계 재계산 API
                         .requestMatchers("/api/achievements/warrior/*/toggle/*").authenticated() // 업적 관리 API
                         .requestMatchers("/api/achievements/warrior/*/unlock-all").authenticated() // 업적 관리 API
                         .requestMatchers("/api/achievements/warrior/*/lock-all").authenticated() // 업적 관리 API
@@ -0,0 +1,89 @@
+package com.example.apipractice.service;
+
+import com.example.apipractice.domain.MatchRecord;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// 배틀러별 업적 규칙 진행 상태 (전적 1건당 규칙 수만큼만 갱신, 이력 크기와 무관)
+public class AchievementProgress {
+
+    private final AchievementRuleEngine.CompiledRule[] rules;
+    private final int[] values;          // COUNT: 개수, STREAK: 최고 연속, DISTINCT: 종류 수
+    private final int[] currentStreaks;  // STREAK: 현재 연속
+    private final List<Set<Object>> distinctValues; // DISTINCT: 나온 값 (처음 쓸 때 생성)
+    private LocalDate lastMatchDate;
+    private int lastMatchId;
+
+    AchievementProgress(AchievementRuleEngine.CompiledRule[] rules) {
+        this.rules = rules;
+        this.values = new int[rules.length];
+        this.currentStreaks = new int[rules.length];
+        this.distinctValues = new ArrayList<>(Collections.nCopies(rules.length, null));
+    }
+
+    // 가장 최근 전적 한 건을 모든 규칙에 반영
+    public void apply(MatchRecord record) {
+        for (AchievementRuleEngine.CompiledRule rule : rules) {
+            int i = rule.index;
+            switch (rule.type) {
+                case COUNT:
+                    if (rule.filter.test(record)) {
+                        values[i]++;
+                    }
+                    break;
+                case STREAK:
+                    if (rule.filter.test(record)) {
+                        currentStreaks[i]++;
+                        values[i] = Math.max(values[i], currentStreaks[i]);
+                    } else {
+                        currentStreaks[i] = 0; // 연속이 끊어짐
+                    }
+                    break;
+                case DISTINCT:
+                    if (rule.filter.test(record)) {
+                        Object value = rule.field.apply(record);
+                        if (value != null) {
+                            Set<Object> seen = distinctValues.get(i);
+                            if (seen == null) {
+                                seen = new HashSet<>();
+                                distinctValues.set(i, seen);
+                            }
+                            seen.add(value);
+                            values[i] = seen.size();
+                        }
+                    }
+                    break;
+                default:
+                    // RANK, MANUAL 은 전적으로 판정하지 않음
+                    break;
+            }
+        }
+        lastMatchDate = record.getMatchDate();
+        lastMatchId = record.getId();
+    }
+
+    // 새 전적이 지금까지 반영된 전적보다 뒤(최신)인지 여부 - 아니면 재계산 필요
+    public boolean isLatest(MatchRecord record) {
+        if (lastMatchDate == null || record.getMatchDate() == null) {
+            return true;
+        }
+        int compare = record.getMatchDate().compareTo(lastMatchDate);
+        return compare > 0 || (compare == 0 && record.getId() > lastMatchId);
+    }
+
+    public boolean isSatisfied(AchievementRuleEngine.CompiledRule rule) {
+        switch (rule.type) {
+            case COUNT:
+            case STREAK:
+            case DISTINCT:
+                return values[rule.index] >= rule.definition.getRequirement();
+            default:
+                return false;
+        }
+    }
+}
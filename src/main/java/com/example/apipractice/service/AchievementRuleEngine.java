@@ -0,0 +1,163 @@
+package com.example.apipractice.service;
+
+import com.example.apipractice.domain.AchievementDefinition;
+import com.example.apipractice.domain.MatchRecord;
+import com.example.apipractice.domain.WarriorAchievementState;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// 업적 카탈로그를 읽어 규칙으로 컴파일하고, 전적 한 번 순회로 모든 규칙을 평가
+@Component
+@RequiredArgsConstructor
+public class AchievementRuleEngine {
+
+    private static final String CATALOG_FILE = "achievements/catalog.json";
+
+    // 규칙에서 참조할 수 있는 전적 필드
+    private static final Map<String, Function<MatchRecord, Object>> FIELDS = Map.of(
+            "result", MatchRecord::getResult,
+            "gameType", MatchRecord::getGameType,
+            "score", MatchRecord::getScore,
+            "opponentId", MatchRecord::getOpponentId,
+            "matchDate", MatchRecord::getMatchDate
+    );
+
+    public enum RuleType { COUNT, STREAK, DISTINCT, RANK, MANUAL }
+
+    // 컴파일된 규칙 (카탈로그 순서의 index 로 진행 상태 배열에 접근)
+    public static class CompiledRule {
+        final int index;
+        final AchievementDefinition definition;
+        final RuleType type;
+        final Predicate<MatchRecord> filter;
+        final Function<MatchRecord, Object> field;
+
+        CompiledRule(int index, AchievementDefinition definition, RuleType type,
+                     Predicate<MatchRecord> filter, Function<MatchRecord, Object> field) {
+            this.index = index;
+            this.definition = definition;
+            this.type = type;
+            this.filter = filter;
+            this.field = field;
+        }
+
+        public AchievementDefinition getDefinition() { return definition; }
+        public RuleType getType() { return type; }
+    }
+
+    private final ObjectMapper objectMapper;
+    private List<AchievementDefinition> definitions = List.of();
+    private CompiledRule[] rules = new CompiledRule[0];
+    private Map<String, CompiledRule> rulesById = Map.of();
+
+    @PostConstruct
+    public void load() throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(CATALOG_FILE)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("업적 카탈로그가 없습니다: " + CATALOG_FILE);
+            }
+            compile(objectMapper.readValue(inputStream, new TypeReference<List<AchievementDefinition>>() {}));
+        }
+    }
+
+    void compile(List<AchievementDefinition> catalog) {
+        CompiledRule[] compiled = new CompiledRule[catalog.size()];
+        Map<String, CompiledRule> byId = new HashMap<>();
+        long usedBits = 0;
+        for (int i = 0; i < catalog.size(); i++) {
+            AchievementDefinition definition = catalog.get(i);
+            int bit = definition.getBit();
+            if (bit < 0 || bit >= WarriorAchievementState.MAX_ACHIEVEMENTS || (usedBits & (1L << bit)) != 0) {
+                throw new IllegalStateException("업적 '" + definition.getId() + "'의 bit 값이 잘못되었습니다: " + bit);
+            }
+            usedBits |= 1L << bit;
+            compiled[i] = compileRule(i, definition);
+            if (byId.put(definition.getId(), compiled[i]) != null) {
+                throw new IllegalStateException("업적 id 중복: " + definition.getId());
+            }
+        }
+        this.definitions = List.copyOf(catalog);
+        this.rules = compiled;
+        this.rulesById = byId;
+    }
+
+    private CompiledRule compileRule(int index, AchievementDefinition definition) {
+        AchievementDefinition.Rule rule = definition.getRule();
+        RuleType type = rule == null || rule.getType() == null
+                ? RuleType.MANUAL
+                : RuleType.valueOf(rule.getType().toUpperCase());
+
+        Predicate<MatchRecord> filter = record -> true;
+        if (rule != null && rule.getFilter() != null) {
+            for (Map.Entry<String, String> condition : rule.getFilter().entrySet()) {
+                Function<MatchRecord, Object> accessor = fieldAccessor(definition, condition.getKey());
+                String expected = condition.getValue();
+                filter = filter.and(record -> Objects.equals(expected, stringValue(accessor.apply(record))));
+            }
+        }
+
+        Function<MatchRecord, Object> field = null;
+        if (type == RuleType.DISTINCT) {
+            field = fieldAccessor(definition, rule.getField());
+        }
+        return new CompiledRule(index, definition, type, filter, field);
+    }
+
+    private Function<MatchRecord, Object> fieldAccessor(AchievementDefinition definition, String name) {
+        Function<MatchRecord, Object> accessor = FIELDS.get(name);
+        if (accessor == null) {
+            throw new IllegalStateException("업적 '" + definition.getId() + "' 규칙의 알 수 없는 필드: " + name);
+        }
+        return accessor;
+    }
+
+    private static String stringValue(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    public List<AchievementDefinition> getDefinitions() {
+        return definitions;
+    }
+
+    public CompiledRule getRule(String achievementId) {
+        return rulesById.get(achievementId);
+    }
+
+    public AchievementProgress newProgress() {
+        return new AchievementProgress(rules);
+    }
+
+    // 상위 threshold 위 안에 들었을 때 해금되는 순위 업적의 비트마스크
+    public long rankMask(int threshold) {
+        long mask = 0;
+        for (CompiledRule rule : rules) {
+            if (rule.type == RuleType.RANK && rule.definition.getRequirement() >= threshold) {
+                mask |= 1L << rule.definition.getBit();
+            }
+        }
+        return mask;
+    }
+
+    // 진행 상태 기준으로 조건을 만족한 업적의 비트마스크
+    public long satisfiedMask(AchievementProgress progress) {
+        long mask = 0;
+        for (CompiledRule rule : rules) {
+            if (progress.isSatisfied(rule)) {
+                mask |= 1L << rule.definition.getBit();
+            }
+        }
+        return mask;
+    }
+}
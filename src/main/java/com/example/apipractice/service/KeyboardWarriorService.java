@@ -1,46 +1,149 @@
 package com.example.apipractice.service;
 
+import com.example.apipractice.DTO.CursorPageDTO;
 import com.example.apipractice.domain.KeyboardWarrior;
 import com.example.apipractice.repository.KeyboardWarriorRepository;
+import com.example.apipractice.repository.MatchRecordRepository;
+import com.example.apipractice.repository.RankChange;
+import com.example.apipractice.util.PageCursor;
+import com.example.apipractice.util.WindowedLeaderboard;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Comparator;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class KeyboardWarriorService {
 
     private final KeyboardWarriorRepository repository;
+    private final MatchRecordRepository matchRecordRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 진입 시 이벤트를 발행할 상위 순위 구간
+    @Value("${ranking.transition-thresholds:1,3,10}")
+    private int[] rankThresholds;
+
+    @Value("${storage.node-role:primary}")
+    private String nodeRole;
+
+    // 시작 시 순위 업적 초기 부여 (한 번만 실행하고 표시 파일을 남김)
+    @Value("${ranking.seed-transitions:false}")
+    private boolean seedTransitions;
+
+    @Value("${ranking.seed-marker-file:./data/rank_transitions.seeded}")
+    private String seedMarkerFile;
 
     public List<KeyboardWarrior> getAll() throws IOException {
         return repository.findAll();
     }
 
     public void add(KeyboardWarrior warrior) throws IOException {
-        repository.save(warrior);
+        // 처음부터 상위 구간에 들어간 경우 (다른 배틀러는 밀려나기만 하므로 새로 진입하는 배틀러 없음)
+        publishRankTransitions(warrior.getId(), repository.save(warrior));
     }
 
     public void update(int id, KeyboardWarrior warrior) throws IOException {
-        repository.update(id, warrior);
+        publishRankTransitions(id, repository.update(id, warrior));
     }
 
     public void delete(int id) throws IOException {
-        repository.delete(id);
+        // 삭제된 배틀러보다 아래에 있던 배틀러가 한 칸씩 올라오며 구간 경계에 새로 진입
+        publishRankTransitions(id, repository.delete(id));
     }
 
     public KeyboardWarrior getById(int id) throws IOException {
         return repository.findById(id);
     }
 
+    // id -> 닉네임 일괄 조회 (저장소를 한 번만 조회)
+    public Map<Integer, String> getNicknames(Collection<Integer> ids) throws IOException {
+        Map<Integer, String> nicknames = new HashMap<>();
+        repository.findByIds(ids).forEach((id, warrior) -> nicknames.put(id, warrior.getNickname()));
+        return nicknames;
+    }
+
     // 포인트 계산 및 순위 업데이트
     public void updateWarriorPoints(int warriorId, int pointsChange) throws IOException {
-        KeyboardWarrior warrior = repository.findById(warriorId);
-        if (warrior != null) {
-            warrior.setPoints(warrior.getPoints() + pointsChange);
-            repository.update(warriorId, warrior);
+        // 포인트 원장에 원자적으로 반영 (파일 기록은 저장소에서 모아서 처리)
+        RankChange change = repository.addPoints(warriorId, pointsChange);
+        if (change != null) {
+            publishRankTransitions(warriorId, change);
+        }
+    }
+
+    // 순위 변경으로 상위 구간에 새로 들어온 배틀러를 이벤트로 발행
+    // 전후 순위와 새로 들어온 배틀러는 저장소가 변경과 같은 잠금 안에서 계산한 값 (동시 변경과 섞이지 않음)
+    private void publishRankTransitions(int warriorId, RankChange change) {
+        int oldRank = change.oldRank();
+        int newRank = change.newRank();
+        if (newRank == oldRank) {
+            return;
+        }
+
+        List<RankTransitionEvent.Transition> transitions = new ArrayList<>();
+        for (int threshold : rankThresholds) {
+            boolean wasInside = oldRank != 0 && oldRank <= threshold;
+            boolean isInside = newRank != 0 && newRank <= threshold;
+            if (isInside && !wasInside) {
+                // 본인이 구간 안으로 올라감
+                transitions.add(new RankTransitionEvent.Transition(warriorId, threshold, newRank));
+            } else if (wasInside && !isInside) {
+                // 본인이 밀려나면서 구간 경계 순위의 배틀러가 새로 들어옴
+                Integer entered = change.idAtRank(threshold);
+                if (entered != null) {
+                    transitions.add(new RankTransitionEvent.Transition(entered, threshold, threshold));
+                }
+            }
+        }
+
+        if (!transitions.isEmpty()) {
+            eventPublisher.publishEvent(new RankTransitionEvent(transitions));
+        }
+    }
+
+    // 시작 시 이미 상위 구간에 있는 배틀러에게 순위 업적 부여 (순위 이벤트 도입 전부터 상위권이던 배틀러)
+    // 설정으로 켠 경우에만, 표시 파일이 없을 때 한 번 실행 - 매 시작(테스트 포함)마다 업적 파일을 건드리지 않도록 함
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedRankTransitions() {
+        if (!seedTransitions || "replica".equalsIgnoreCase(nodeRole)) {
+            return; // 복제 노드는 주 노드의 결과를 변경 로그로 받음
+        }
+        Path marker = Path.of(seedMarkerFile);
+        if (Files.exists(marker)) {
+            return;
+        }
+        try {
+            List<RankTransitionEvent.Transition> transitions = new ArrayList<>();
+            for (int threshold : rankThresholds) {
+                for (int rank = 1; rank <= threshold; rank++) {
+                    Integer warriorId = repository.findIdAtRank(rank);
+                    if (warriorId == null) {
+                        break;
+                    }
+                    transitions.add(new RankTransitionEvent.Transition(warriorId, threshold, rank));
+                }
+            }
+            if (!transitions.isEmpty()) {
+                eventPublisher.publishEvent(new RankTransitionEvent(transitions));
+            }
+            Files.createDirectories(marker.toAbsolutePath().getParent());
+            Files.writeString(marker, LocalDate.now().toString());
+            System.out.println("순위 업적 초기 부여 완료: " + transitions.size() + "건");
+        } catch (Exception e) {
+            System.err.println("순위 업적 초기 부여 중 오류: " + e.getMessage());
         }
     }
 
@@ -52,31 +155,58 @@ public class KeyboardWarriorService {
     }
 
     // 순위별로 정렬된 배틀러 목록 (실시간 랭킹용)
+    // 티어별 정렬 (SS > S > A > B > C > D) 후 포인트 순 - 저장소의 랭킹 인덱스 사용
     public List<KeyboardWarrior> getRankedWarriors() throws IOException {
-        List<KeyboardWarrior> warriors = repository.findAll();
-        
-        // 티어별 정렬 (SS > S > A > B > C > D) 후 포인트 순으로 정렬
-        warriors.sort(Comparator
-            .comparing(KeyboardWarrior::getTier, (tier1, tier2) -> {
-                // 티어 우선순위 정의
-                String[] tierOrder = {"SS", "S", "A", "B", "C", "D"};
-                int index1 = -1, index2 = -1;
-                
-                for (int i = 0; i < tierOrder.length; i++) {
-                    if (tierOrder[i].equals(tier1)) index1 = i;
-                    if (tierOrder[i].equals(tier2)) index2 = i;
-                }
-                
-                // 알 수 없는 티어는 맨 뒤로
-                if (index1 == -1) index1 = tierOrder.length;
-                if (index2 == -1) index2 = tierOrder.length;
-                
-                return Integer.compare(index1, index2); // 낮은 인덱스가 높은 티어
-            })
-            .thenComparing(KeyboardWarrior::getPoints, Comparator.reverseOrder()) // 같은 티어 내에서는 포인트 높은 순
-        );
-        
-        return warriors;
+        return repository.findRanked(0, Integer.MAX_VALUE);
+    }
+
+    // 랭킹 일부 조회 (offset 부터 limit 명)
+    public List<KeyboardWarrior> getRankedWarriors(int offset, int limit) throws IOException {
+        return repository.findRanked(offset, limit);
+    }
+
+    // 기간별 랭킹 (window: day, week, month, season) - 해당 기간 경기의 포인트 변화 합 순
+    // 응답 형식은 전체 랭킹과 같고, points 에는 기간 포인트를 담음
+    public List<KeyboardWarrior> getRankedWarriors(String window, int offset, int limit) throws IOException {
+        Map<Integer, Long> ranking = matchRecordRepository.findWindowRanking(
+                WindowedLeaderboard.Window.parse(window), offset, limit);
+        Map<Integer, KeyboardWarrior> warriors = repository.findByIds(ranking.keySet());
+        List<KeyboardWarrior> list = new ArrayList<>(ranking.size());
+        for (Map.Entry<Integer, Long> entry : ranking.entrySet()) {
+            KeyboardWarrior warrior = warriors.get(entry.getKey());
+            if (warrior != null) {
+                warrior.setPoints((int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, entry.getValue())));
+                list.add(warrior);
+            }
+        }
+        return list;
+    }
+
+    // 기간 안 순위 (1부터, 기간 안 경기가 없으면 0)
+    public int getRank(int warriorId, String window) throws IOException {
+        return matchRecordRepository.findWindowRank(WindowedLeaderboard.Window.parse(window), warriorId);
+    }
+
+    // 배틀러의 현재 순위 (1부터, 없으면 0)
+    public int getRank(int warriorId) throws IOException {
+        return repository.findRank(warriorId);
+    }
+
+    // 닉네임/한마디 검색 (초성, 입력 중인 글자 포함) - 일치 정도 다음 랭킹 순 (after 는 이전 응답의 nextCursor)
+    public CursorPageDTO<KeyboardWarrior> search(String query, String after, int limit) throws IOException {
+        int offset = after != null ? PageCursor.toOffset(after) : 0;
+        // 한 명 더 조회해서 다음 페이지가 있는지 확인
+        List<KeyboardWarrior> warriors = repository.searchByNickname(query, offset, limit + 1);
+        String nextCursor = null;
+        if (warriors.size() > limit) {
+            warriors = warriors.subList(0, limit);
+            nextCursor = PageCursor.ofOffset(offset + limit);
+        }
+        return new CursorPageDTO<>(warriors, nextCursor);
+    }
+
+    public int getWarriorCount() throws IOException {
+        return repository.count();
     }
 
     // 티어별 배틀러 목록 (기존 기능 유지)
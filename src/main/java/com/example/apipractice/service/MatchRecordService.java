@@ -1,13 +1,33 @@
 package com.example.apipractice.service;
 
+import com.example.apipractice.DTO.CursorPageDTO;
+import com.example.apipractice.domain.HeadToHead;
 import com.example.apipractice.domain.MatchRecord;
-import com.example.apipractice.domain.KeyboardWarrior;
+import com.example.apipractice.domain.MatchStats;
 import com.example.apipractice.repository.MatchRecordRepository;
+import com.example.apipractice.repository.UnitOfWork;
+import com.example.apipractice.util.MatchRecordReader;
+import com.example.apipractice.util.PageCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -16,111 +36,256 @@ public class MatchRecordService {
     private final MatchRecordRepository repository;
     private final AchievementService achievementService;
     private final KeyboardWarriorService keyboardWarriorService;
+    private final UnitOfWork unitOfWork;
+    private final ObjectMapper objectMapper;
+
+    private static final int EXPORT_PAGE_SIZE = 500;
+    // 일괄 등록(CSV)에서 그대로 다시 읽을 수 있는 열 구성
+    static final List<String> EXPORT_CSV_COLUMNS = List.of("id", "warriorId", "opponentId", "result", "score",
+            "matchDate", "gameType", "description", "opponentName", "pointsChange");
 
     public List<MatchRecord> getAllRecords() throws IOException {
         List<MatchRecord> records = repository.findAll();
         return enrichRecordsWithOpponentNames(records);
     }
 
+    // 전체 전적 최신순 페이지 조회 (after 는 이전 페이지 마지막 전적의 커서)
+    public CursorPageDTO<MatchRecord> getRecordsPage(String after, int limit) throws IOException {
+        List<MatchRecord> records = after != null
+                ? repository.findLatest(PageCursor.toDate(after), PageCursor.toDateId(after), limit)
+                : repository.findLatest(null, null, limit);
+        enrichRecordsWithOpponentNames(records);
+        String nextCursor = null;
+        if (records.size() == limit) {
+            MatchRecord last = records.get(records.size() - 1);
+            nextCursor = PageCursor.ofDateAndId(last.getMatchDate(), last.getId());
+        }
+        return new CursorPageDTO<>(records, nextCursor);
+    }
+
     public List<MatchRecord> getRecordsByWarriorId(int warriorId) throws IOException {
         List<MatchRecord> records = repository.findByWarriorId(warriorId);
         return enrichRecordsWithOpponentNames(records);
     }
 
-    // 전적에 상대방 이름 추가하는 메서드
+    // 최신 전적 일부만 조회 (before 날짜 이전, 최대 limit 건)
+    public List<MatchRecord> getRecordsByWarriorId(int warriorId, int limit, LocalDate before) throws IOException {
+        List<MatchRecord> records = repository.findByWarriorId(warriorId, limit, before);
+        return enrichRecordsWithOpponentNames(records);
+    }
+
+    // 전체 전적 내보내기 - 일정 건수씩 읽어 바로 쓰므로 데이터 크기와 무관하게 메모리 사용량이 일정함
+    public int exportRecords(OutputStream outputStream, boolean csv, LocalDate since) throws IOException {
+        JsonGenerator generator = null;
+        if (csv) {
+            outputStream.write((String.join(",", EXPORT_CSV_COLUMNS) + "\n").getBytes(StandardCharsets.UTF_8));
+        } else {
+            generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        int exported = 0;
+        int afterId = 0;
+        List<MatchRecord> page;
+        while (!(page = repository.findPage(afterId, since, EXPORT_PAGE_SIZE)).isEmpty()) {
+            enrichRecordsWithOpponentNames(page);
+            for (MatchRecord record : page) {
+                if (csv) {
+                    outputStream.write(toCsvLine(record).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    objectMapper.writeValue(generator, record);
+                    generator.writeRaw('\n');
+                }
+            }
+            if (generator != null) {
+                generator.flush();
+            }
+            outputStream.flush();
+            exported += page.size();
+            afterId = page.get(page.size() - 1).getId();
+        }
+        return exported;
+    }
+
+    static String toCsvLine(MatchRecord record) {
+        return record.getId() + "," + record.getWarriorId() + "," + record.getOpponentId() + ","
+                + csvValue(record.getResult()) + "," + csvValue(record.getScore()) + ","
+                + (record.getMatchDate() != null ? record.getMatchDate() : "") + ","
+                + csvValue(record.getGameType()) + "," + csvValue(record.getDescription()) + ","
+                + csvValue(record.getOpponentName()) + "," + record.getPointsChange() + "\n";
+    }
+
+    // 줄바꿈이 든 값도 따옴표로 감싸므로 MatchRecordReader 가 여러 줄에 걸친 한 행으로 다시 읽음
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    // 전적에 상대방 이름 추가하는 메서드 (상대방 id를 모아 한 번에 조회)
     private List<MatchRecord> enrichRecordsWithOpponentNames(List<MatchRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return records;
+        }
+
+        Set<Integer> opponentIds = new HashSet<>();
         for (MatchRecord record : records) {
-            setOpponentName(record);
+            opponentIds.add(record.getOpponentId());
         }
-        return records;
-    }
 
-    // 개별 전적에 상대방 이름 설정하는 메서드
-    private void setOpponentName(MatchRecord record) {
+        Map<Integer, String> nicknames;
         try {
-            KeyboardWarrior opponent = keyboardWarriorService.getById(record.getOpponentId());
-            if (opponent != null) {
-                record.setOpponentName(opponent.getNickname());
-            } else {
-                record.setOpponentName("알 수 없는 배틀러");
-            }
+            nicknames = keyboardWarriorService.getNicknames(opponentIds);
         } catch (Exception e) {
-            record.setOpponentName("알 수 없는 배틀러");
-            System.err.println("상대방 정보 조회 실패 (ID: " + record.getOpponentId() + "): " + e.getMessage());
+            System.err.println("상대방 정보 일괄 조회 실패: " + e.getMessage());
+            nicknames = Map.of();
         }
+
+        for (MatchRecord record : records) {
+            record.setOpponentName(nicknames.getOrDefault(record.getOpponentId(), "알 수 없는 배틀러"));
+        }
+        return records;
     }
 
+    // 전적/포인트/업적 변경을 하나의 작업 단위로 묶어 저장소마다 한 번씩만 기록
+    // 버전 충돌 시 작업 전체를 다시 실행 (포인트/업적 변경도 함께 되돌려진 뒤 재시도)
     public void addRecord(MatchRecord record) throws IOException {
-        // 1. 상대방 이름 설정
-        setOpponentName(record);
+        unitOfWork.executeWithRetry(() -> {
+            addRecordInUnit(record);
+            return null;
+        });
+    }
+
+    private void addRecordInUnit(MatchRecord record) throws IOException {
+        // 0. 두 배틀러가 모두 있는지 확인 (없는 id 로 전적/포인트/업적이 저장되지 않도록)
+        Map<Integer, String> nicknames = keyboardWarriorService.getNicknames(List.of(record.getWarriorId(), record.getOpponentId()));
+        for (int warriorId : List.of(record.getWarriorId(), record.getOpponentId())) {
+            if (!nicknames.containsKey(warriorId)) {
+                throw new IllegalArgumentException("존재하지 않는 배틀러입니다 (ID: " + warriorId + ")");
+            }
+        }
+
+        // 1. 상대방 이름 설정 (위에서 함께 조회한 닉네임 사용)
+        record.setOpponentName(nicknames.get(record.getOpponentId()));
         
-        // 2. 배틀러 전적 저장
+        // 2. 경기 전적 저장 (상대방 전적은 조회 시 뒤집어서 만들어짐)
         repository.save(record);
         
-        // 3. 상대방 전적도 저장 (반대 결과로)
-        MatchRecord opponentRecord = createOpponentRecord(record);
-        repository.save(opponentRecord);
-        
-        // 4. 배틀러 포인트 변화 적용
+        // 3. 배틀러 포인트 변화 적용
         if (record.getPointsChange() != 0) {
             keyboardWarriorService.updateWarriorPoints(record.getWarriorId(), record.getPointsChange());
         }
         
-        // 5. 상대방 포인트 변화 적용 (반대 값)
+        // 4. 상대방 포인트 변화 적용 (반대 값)
         if (record.getPointsChange() != 0) {
             keyboardWarriorService.updateWarriorPoints(record.getOpponentId(), -record.getPointsChange());
         }
         
-        // 6. 업적 체크 및 해금 (배틀러)
+        // 5. 업적 체크 및 해금 (배틀러)
         try {
-            List<MatchRecord> allRecords = getRecordsByWarriorId(record.getWarriorId());
-            achievementService.checkAndUnlockAchievements(record.getWarriorId(), record, allRecords);
+            achievementService.checkAndUnlockAchievements(record.getWarriorId(), record);
         } catch (Exception e) {
             System.err.println("배틀러 업적 체크 중 오류: " + e.getMessage());
         }
         
-        // 7. 업적 체크 및 해금 (상대방)
+        // 6. 업적 체크 및 해금 (상대방)
         try {
-            List<MatchRecord> opponentRecords = getRecordsByWarriorId(record.getOpponentId());
-            achievementService.checkAndUnlockAchievements(record.getOpponentId(), opponentRecord, opponentRecords);
+            achievementService.checkAndUnlockAchievements(record.getOpponentId(), record.viewFor(record.getOpponentId()));
         } catch (Exception e) {
             System.err.println("상대방 업적 체크 중 오류: " + e.getMessage());
         }
     }
-    
-    // 상대방 전적 생성 메서드
-    private MatchRecord createOpponentRecord(MatchRecord originalRecord) {
-        String opponentResult;
-        switch (originalRecord.getResult()) {
-            case "WIN":
-                opponentResult = "LOSE";
-                break;
-            case "LOSE":
-                opponentResult = "WIN";
-                break;
-            case "DRAW":
-                opponentResult = "DRAW";
-                break;
-            default:
-                opponentResult = "DRAW";
+
+    // 전적 일괄 등록 - 전체를 하나의 작업 단위로 묶어 저장소마다 한 번만 기록하고,
+    // 포인트는 배틀러별로 합산해 한 번씩, 업적은 관련 배틀러당 한 번씩만 평가
+    // 버전 충돌 시 다른 쓰기 경로처럼 작업 전체를 다시 실행 - 요청 본문은 다시 읽을 수 있도록 임시 파일에 받아 둠
+    public ImportResult importRecords(InputStream inputStream, boolean csv) throws IOException {
+        Path upload = Files.createTempFile("match_records_import", csv ? ".csv" : ".ndjson");
+        try {
+            Files.copy(inputStream, upload, StandardCopyOption.REPLACE_EXISTING);
+            return unitOfWork.executeWithRetry(() -> {
+                try (InputStream body = Files.newInputStream(upload)) {
+                    return importRecordsInUnit(body, csv);
+                }
+            });
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    // 배틀러 닉네임/업적 상태는 시도마다 새로 읽음
+    private ImportResult importRecordsInUnit(InputStream inputStream, boolean csv) throws IOException {
+        Map<Integer, String> nicknames = new HashMap<>();
+        Map<Integer, Integer> pointDeltas = new LinkedHashMap<>();
+        MatchRecordReader reader = new MatchRecordReader(objectMapper);
+        MatchRecordReader.Handler handler = (record, line) -> {
+            validateImported(record, line, nicknames);
+            record.setId(0);
+            record.setOpponentName(nicknames.get(record.getOpponentId()));
+            repository.save(record);
+            pointDeltas.merge(record.getWarriorId(), record.getPointsChange(), Integer::sum);
+            pointDeltas.merge(record.getOpponentId(), -record.getPointsChange(), Integer::sum);
+        };
+        int imported = csv ? reader.readCsv(inputStream, handler) : reader.readNdjson(inputStream, handler);
+
+        for (Map.Entry<Integer, Integer> delta : pointDeltas.entrySet()) {
+            if (delta.getValue() != 0) {
+                keyboardWarriorService.updateWarriorPoints(delta.getKey(), delta.getValue());
+            }
+        }
+        for (int warriorId : pointDeltas.keySet()) {
+            try {
+                achievementService.reevaluateAchievements(warriorId);
+            } catch (Exception e) {
+                System.err.println("업적 체크 중 오류 (ID: " + warriorId + "): " + e.getMessage());
+            }
+        }
+        return new ImportResult(imported, pointDeltas.size());
+    }
+
+    private void validateImported(MatchRecord record, int line, Map<Integer, String> nicknames) throws IOException {
+        if (record.getWarriorId() == record.getOpponentId()) {
+            throw new IllegalArgumentException(line + "번째 줄: 배틀러와 상대방이 같습니다.");
+        }
+        if (!"WIN".equals(record.getResult()) && !"LOSE".equals(record.getResult()) && !"DRAW".equals(record.getResult())) {
+            throw new IllegalArgumentException(line + "번째 줄: 결과는 WIN, LOSE, DRAW 중 하나여야 합니다.");
+        }
+        if (record.getMatchDate() == null) {
+            throw new IllegalArgumentException(line + "번째 줄: 경기 날짜가 없습니다.");
+        }
+        for (int warriorId : List.of(record.getWarriorId(), record.getOpponentId())) {
+            if (!nicknames.containsKey(warriorId)) {
+                nicknames.putAll(keyboardWarriorService.getNicknames(List.of(warriorId)));
+                if (!nicknames.containsKey(warriorId)) {
+                    throw new IllegalArgumentException(line + "번째 줄: 존재하지 않는 배틀러입니다 (ID: " + warriorId + ")");
+                }
+            }
         }
-        
-        return MatchRecord.builder()
-                .warriorId(originalRecord.getOpponentId())
-                .opponentId(originalRecord.getWarriorId())
-                .result(opponentResult)
-                .score(originalRecord.getScore())
-                .matchDate(originalRecord.getMatchDate())
-                .gameType(originalRecord.getGameType())
-                .description(originalRecord.getDescription())
-                .pointsChange(-originalRecord.getPointsChange()) // 반대 포인트 변화
-                .build();
     }
 
     public void updateRecord(int id, MatchRecord record) throws IOException {
+        // 재시도마다 요청에 담긴 버전 기준으로 다시 비교
+        Long requestedVersion = record.getVersion();
+        unitOfWork.executeWithRetry(() -> {
+            record.setVersion(requestedVersion);
+            updateRecordInUnit(id, record);
+            return null;
+        });
+    }
+
+    private void updateRecordInUnit(int id, MatchRecord record) throws IOException {
         // 기존 전적 조회하여 포인트 변화 차이 계산
         MatchRecord oldRecord = repository.findById(id);
         if (oldRecord != null) {
+            // 버전을 보내지 않았으면 조회한 전적 기준으로 비교 (되돌린 포인트가 실제로 바뀐 전적의 값이어야 함)
+            if (record.getVersion() == null) {
+                record.setVersion(oldRecord.getVersion() != null ? oldRecord.getVersion() : 0L);
+            }
+
             // 기존 배틀러 포인트 변화를 되돌리고 새로운 포인트 변화 적용
             if (oldRecord.getPointsChange() != 0) {
                 keyboardWarriorService.updateWarriorPoints(oldRecord.getWarriorId(), -oldRecord.getPointsChange());
@@ -130,34 +295,14 @@ public class MatchRecordService {
             if (oldRecord.getPointsChange() != 0) {
                 keyboardWarriorService.updateWarriorPoints(oldRecord.getOpponentId(), oldRecord.getPointsChange());
             }
-            
-            // 기존 상대방 전적도 삭제
-            List<MatchRecord> allRecords = repository.findAll();
-            allRecords.stream()
-                    .filter(r -> r.getWarriorId() == oldRecord.getOpponentId() && 
-                                r.getOpponentId() == oldRecord.getWarriorId() &&
-                                r.getMatchDate().equals(oldRecord.getMatchDate()) &&
-                                r.getScore().equals(oldRecord.getScore()))
-                    .findFirst()
-                    .ifPresent(opponentRecord -> {
-                        try {
-                            repository.delete(opponentRecord.getId());
-                        } catch (IOException e) {
-                            System.err.println("상대방 전적 삭제 중 오류: " + e.getMessage());
-                        }
-                    });
         }
         
         // 상대방 이름 설정
-        setOpponentName(record);
+        enrichRecordsWithOpponentNames(List.of(record));
         
-        // 새로운 배틀러 전적 업데이트
+        // 경기 전적 업데이트 (양쪽 배틀러 전적이 함께 바뀜)
         repository.update(id, record);
         
-        // 새로운 상대방 전적 생성 및 저장
-        MatchRecord opponentRecord = createOpponentRecord(record);
-        repository.save(opponentRecord);
-        
         // 새로운 배틀러 포인트 변화 적용
         if (record.getPointsChange() != 0) {
             keyboardWarriorService.updateWarriorPoints(record.getWarriorId(), record.getPointsChange());
@@ -167,9 +312,24 @@ public class MatchRecordService {
         if (record.getPointsChange() != 0) {
             keyboardWarriorService.updateWarriorPoints(record.getOpponentId(), -record.getPointsChange());
         }
+        
+        // 전적이 바뀌었으므로 관련 배틀러의 업적 진행 상태 재계산
+        Set<Integer> affected = new HashSet<>(List.of(record.getWarriorId(), record.getOpponentId()));
+        if (oldRecord != null) {
+            affected.add(oldRecord.getWarriorId());
+            affected.add(oldRecord.getOpponentId());
+        }
+        rebuildAchievementProgress(affected);
     }
 
     public void deleteRecord(int id) throws IOException {
+        unitOfWork.executeWithRetry(() -> {
+            deleteRecordInUnit(id);
+            return null;
+        });
+    }
+
+    private void deleteRecordInUnit(int id) throws IOException {
         // 삭제 전에 기존 전적 조회하여 포인트 변화 되돌리기
         MatchRecord record = repository.findById(id);
         if (record != null) {
@@ -182,100 +342,104 @@ public class MatchRecordService {
             if (record.getPointsChange() != 0) {
                 keyboardWarriorService.updateWarriorPoints(record.getOpponentId(), record.getPointsChange());
             }
-            
-            // 상대방 전적도 삭제
-            List<MatchRecord> allRecords = repository.findAll();
-            allRecords.stream()
-                    .filter(r -> r.getWarriorId() == record.getOpponentId() && 
-                                r.getOpponentId() == record.getWarriorId() &&
-                                r.getMatchDate().equals(record.getMatchDate()) &&
-                                r.getScore().equals(record.getScore()))
-                    .findFirst()
-                    .ifPresent(opponentRecord -> {
-                        try {
-                            repository.delete(opponentRecord.getId());
-                        } catch (IOException e) {
-                            System.err.println("상대방 전적 삭제 중 오류: " + e.getMessage());
-                        }
-                    });
         }
         
-        // 배틀러 전적 삭제
+        // 경기 전적 삭제 (양쪽 배틀러 전적이 함께 사라짐)
         repository.delete(id);
+        
+        // 전적이 바뀌었으므로 관련 배틀러의 업적 진행 상태 재계산
+        if (record != null) {
+            rebuildAchievementProgress(new HashSet<>(List.of(record.getWarriorId(), record.getOpponentId())));
+        }
     }
 
-    public MatchRecord getRecordById(int id) throws IOException {
-        MatchRecord record = repository.findById(id);
-        if (record != null) {
+    private void rebuildAchievementProgress(Set<Integer> warriorIds) {
+        for (int warriorId : warriorIds) {
             try {
-                KeyboardWarrior opponent = keyboardWarriorService.getById(record.getOpponentId());
-                if (opponent != null) {
-                    record.setOpponentName(opponent.getNickname());
-                } else {
-                    record.setOpponentName("알 수 없는 배틀러");
-                }
+                achievementService.rebuildProgress(warriorId);
             } catch (Exception e) {
-                record.setOpponentName("알 수 없는 배틀러");
-                System.err.println("상대방 정보 조회 실패 (ID: " + record.getOpponentId() + "): " + e.getMessage());
+                System.err.println("업적 진행 상태 재계산 중 오류 (ID: " + warriorId + "): " + e.getMessage());
             }
         }
+    }
+
+    public MatchRecord getRecordById(int id) throws IOException {
+        MatchRecord record = repository.findById(id);
+        if (record != null) {
+            enrichRecordsWithOpponentNames(List.of(record));
+        }
         return record;
     }
 
-    // 전적 통계 계산
+    // 전적 통계 조회 - 저장소가 전적 등록/수정/삭제 때 갱신해 둔 값 (전적이 없으면 0)
     public MatchStats calculateStats(int warriorId) throws IOException {
-        List<MatchRecord> records = repository.findByWarriorId(warriorId);
-        
-        int totalMatches = records.size();
-        int wins = (int) records.stream().filter(r -> "WIN".equals(r.getResult())).count();
-        int losses = (int) records.stream().filter(r -> "LOSE".equals(r.getResult())).count();
-        int draws = (int) records.stream().filter(r -> "DRAW".equals(r.getResult())).count();
-        
-        double winRate = totalMatches > 0 ? (double) wins / totalMatches * 100 : 0;
-        
-        return new MatchStats(totalMatches, wins, losses, draws, winRate);
+        MatchStats stats = repository.findStatsByWarriorId(warriorId);
+        return stats != null ? stats : new MatchStats(0, 0, 0, 0, 0, 0, 0, 0, 0, Map.of());
+    }
+
+    // 두 배틀러의 상대 전적 (warriorId 입장, 최근 경기 ID 최대 recent 건) - 맞붙은 적이 없으면 0
+    public HeadToHead getHeadToHead(int warriorId, int opponentId, int recent) throws IOException {
+        HeadToHead headToHead = repository.findHeadToHead(warriorId, opponentId, recent);
+        if (headToHead == null) {
+            headToHead = new HeadToHead(warriorId, opponentId, null, 0, 0, 0, 0, 0, List.of());
+        }
+        headToHead.setOpponentName(keyboardWarriorService.getNicknames(List.of(opponentId)).get(opponentId));
+        return headToHead;
+    }
+
+    // 가장 많이 맞붙은 상대 목록 (최대 limit 명)
+    public List<HeadToHead> getTopRivals(int warriorId, int limit) throws IOException {
+        List<HeadToHead> rivals = repository.findTopRivals(warriorId, limit);
+        Map<Integer, String> nicknames = keyboardWarriorService.getNicknames(
+                rivals.stream().map(HeadToHead::getOpponentId).toList());
+        for (HeadToHead rival : rivals) {
+            rival.setOpponentName(nicknames.get(rival.getOpponentId()));
+        }
+        return rivals;
     }
 
-    public static class MatchStats {
-        private final int totalMatches;
-        private final int wins;
-        private final int losses;
-        private final int draws;
-        private final double winRate;
-
-        public MatchStats(int totalMatches, int wins, int losses, int draws, double winRate) {
-            this.totalMatches = totalMatches;
-            this.wins = wins;
-            this.losses = losses;
-            this.draws = draws;
-            this.winRate = winRate;
-        }
-
-        public int getTotalMatches() { return totalMatches; }
-        public int getWins() { return wins; }
-        public int getLosses() { return losses; }
-        public int getDraws() { return draws; }
-        public double getWinRate() { return winRate; }
+    // 전체 배틀러 통계를 이력에서 다시 계산 (관리자용)
+    public int rebuildStats() throws IOException {
+        return repository.rebuildStats();
+    }
+
+    public static class ImportResult {
+        private final int imported;
+        private final int affectedWarriors;
+
+        public ImportResult(int imported, int affectedWarriors) {
+            this.imported = imported;
+            this.affectedWarriors = affectedWarriors;
+        }
+
+        public int getImported() { return imported; }
+        public int getAffectedWarriors() { return affectedWarriors; }
     }
 
     // 기존 전적 데이터의 상대방 이름을 업데이트하는 메서드 (데이터 마이그레이션용)
     public void migrateOpponentNames() throws IOException {
-        List<MatchRecord> allRecords = repository.findAll();
-        boolean hasChanges = false;
-        
-        for (MatchRecord record : allRecords) {
-            if (record.getOpponentName() == null) {
-                setOpponentName(record);
-                hasChanges = true;
-            }
-        }
-        
-        if (hasChanges) {
-            // 변경사항이 있으면 파일에 다시 저장
-            for (MatchRecord record : allRecords) {
-                repository.update(record.getId(), record);
-            }
+        List<Integer> missingIds = repository.findAll().stream()
+                .filter(record -> record.getOpponentName() == null)
+                .map(MatchRecord::getId)
+                .toList();
+
+        if (!missingIds.isEmpty()) {
+            // 이름이 없는 전적만 수정 - 재시도마다 최신 버전으로 다시 읽어 버전 충돌이 반복되지 않도록 함
+            unitOfWork.executeWithRetry(() -> {
+                List<MatchRecord> missing = new ArrayList<>();
+                for (int id : missingIds) {
+                    MatchRecord record = repository.findById(id);
+                    if (record != null && record.getOpponentName() == null) {
+                        missing.add(record);
+                    }
+                }
+                enrichRecordsWithOpponentNames(missing);
+                for (MatchRecord record : missing) {
+                    repository.update(record.getId(), record);
+                }
+                return null;
+            });
             System.out.println("전적 데이터의 상대방 이름 마이그레이션이 완료되었습니다.");
         }
     }
-} 
\ No newline at end of file
+}
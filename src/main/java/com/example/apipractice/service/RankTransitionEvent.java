@@ -0,0 +1,22 @@
+package com.example.apipractice.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 포인트/티어 변경으로 상위 N위 안에 새로 들어온 배틀러 목록
+@Getter
+@AllArgsConstructor
+public class RankTransitionEvent {
+
+    @Getter
+    @AllArgsConstructor
+    public static class Transition {
+        private final int warriorId;
+        private final int threshold; // 진입한 상위 구간 (예: 1, 3, 10)
+        private final int rank;      // 변경 후 순위
+    }
+
+    private final List<Transition> transitions;
+}
@@ -38,6 +38,11 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    @Transactional
+    public List<User> getUsers(Long afterId, int limit) {
+        return userRepository.findPage(afterId, limit);
+    }
+
     @Transactional
     public String login(LoginRequestDTO request) {
         User user = userRepository.findByEmail(request.getEmail())
@@ -0,0 +1,40 @@
+package com.example.apipractice.util;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 임시 파일에 쓴 뒤 원자적으로 교체하는 파일 기록 도우미
+// Files.createTempFile 은 권한을 0600 으로 만들어 교체 후 다른 프로그램(백업 등)이 읽지 못하게 되므로,
+// 임시 파일은 일반 파일처럼(umask 기준) 만들고 교체 전에 기존 파일의 권한을 그대로 옮김
+public class AtomicFiles {
+
+    // target 과 같은 디렉토리에 임시 파일 생성
+    public static Path createTempFile(Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        while (true) {
+            Path tempFile = directory.resolve(target.getFileName() + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                return Files.createFile(tempFile);
+            } catch (FileAlreadyExistsException e) {
+                // 이름이 겹치면 다시 시도
+            }
+        }
+    }
+
+    // 임시 파일을 target 과 교체 (target 이 있으면 그 권한 유지)
+    public static void moveIntoPlace(Path tempFile, Path target) throws IOException {
+        if (Files.exists(target)) {
+            try {
+                Files.setPosixFilePermissions(tempFile, Files.getPosixFilePermissions(target));
+            } catch (UnsupportedOperationException e) {
+                // POSIX 권한이 없는 파일 시스템 (Windows 등)
+            }
+        }
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
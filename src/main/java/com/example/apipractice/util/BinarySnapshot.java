@@ -0,0 +1,165 @@
+package com.example.apipractice.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+// 메모리 상태 바이너리 스냅샷 - 시작 시 JSON 을 다시 파싱하지 않고 메모리 매핑으로 바로 읽기 위한 파일
+// 헤더: 매직(4) + 형식 버전(4) + 원본 표식 개수(4) + 원본 표식(8 * n) + 본문 길이(8) + 본문 CRC32(8)
+// 원본 표식은 스냅샷을 만들 때의 원본 파일 상태(수정 시각, 크기 등) - 다르면 오래된 스냅샷으로 보고 사용하지 않음
+public class BinarySnapshot {
+
+    private static final int MAGIC = 0x4B42534E; // "KBSN"
+    private static final int FORMAT_VERSION = 1;
+
+    // 스냅샷 기록 (임시 파일에 쓴 뒤 교체)
+    public static void write(String path, long[] stamp, Writer body) throws IOException {
+        byte[] bytes = body.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        ByteBuffer header = ByteBuffer.allocate(headerSize(stamp.length));
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(stamp.length);
+        for (long value : stamp) {
+            header.putLong(value);
+        }
+        header.putLong(bytes.length).putLong(crc.getValue());
+        header.flip();
+
+        Path target = new File(path).toPath();
+        Path tempFile = AtomicFiles.createTempFile(target);
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+            channel.write(header);
+            ByteBuffer data = ByteBuffer.wrap(bytes);
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+        AtomicFiles.moveIntoPlace(tempFile, target);
+    }
+
+    // 메모리 매핑으로 본문 읽기 - 파일이 없거나, 원본 표식이 다르거나, 체크섬이 맞지 않으면 null
+    public static Reader read(String path, long[] stamp) {
+        File file = new File(path);
+        if (!file.exists()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.remaining() < headerSize(0) || mapped.getInt() != MAGIC || mapped.getInt() != FORMAT_VERSION) {
+                System.err.println("스냅샷 형식이 올바르지 않아 사용하지 않습니다: " + path);
+                return null;
+            }
+            int stampLength = mapped.getInt();
+            if (stampLength != stamp.length || mapped.remaining() < headerSize(stampLength) - 12) {
+                return null;
+            }
+            long[] saved = new long[stampLength];
+            for (int i = 0; i < stampLength; i++) {
+                saved[i] = mapped.getLong();
+            }
+            if (!Arrays.equals(saved, stamp)) {
+                return null; // 스냅샷 이후 원본 파일이 바뀜
+            }
+            long length = mapped.getLong();
+            long checksum = mapped.getLong();
+            if (length != mapped.remaining()) {
+                System.err.println("스냅샷 길이가 맞지 않아 사용하지 않습니다: " + path);
+                return null;
+            }
+            ByteBuffer body = mapped.slice();
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if (crc.getValue() != checksum) {
+                System.err.println("스냅샷 체크섬이 맞지 않아 사용하지 않습니다: " + path);
+                return null;
+            }
+            return new Reader(body);
+        } catch (IOException e) {
+            System.err.println("스냅샷 읽기 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static int headerSize(int stampLength) {
+        return 12 + Long.BYTES * stampLength + 16;
+    }
+
+    // 본문 기록용 (문자열은 길이 + UTF-8, null 은 길이 -1)
+    public static class Writer {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(buffer);
+
+        public Writer putInt(int value) throws IOException {
+            out.writeInt(value);
+            return this;
+        }
+
+        public Writer putLong(long value) throws IOException {
+            out.writeLong(value);
+            return this;
+        }
+
+        public Writer putNullableLong(Long value) throws IOException {
+            out.writeBoolean(value != null);
+            out.writeLong(value != null ? value : 0L);
+            return this;
+        }
+
+        public Writer putString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+    }
+
+    // 본문 읽기용 (Writer 와 같은 순서로 읽어야 함)
+    public static class Reader {
+        private final ByteBuffer buffer;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public int getInt() {
+            return buffer.getInt();
+        }
+
+        public long getLong() {
+            return buffer.getLong();
+        }
+
+        public Long getNullableLong() {
+            boolean present = buffer.get() != 0;
+            long value = buffer.getLong();
+            return present ? value : null;
+        }
+
+        public String getString() {
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 //src/main/resources/mock_data.json
 public class JsonFileHandler {
@@ -30,12 +31,25 @@ public class JsonFileHandler {
         }
     }
 
-    public static void writeWarriors(List<KeyboardWarrior> warriors) throws IOException {
-        // 외부 디렉토리 생성
-        File externalFile = new File(EXTERNAL_FILE);
-        externalFile.getParentFile().mkdirs();
-        
-        // 외부 파일에 쓰기
-        objectMapper.writerWithDefaultPrettyPrinter().writeValue(externalFile, warriors);
+    // 외부 파일 수정 시각 (파일이 없으면 0)
+    public static long getLastModified() {
+        return new File(EXTERNAL_FILE).lastModified();
+    }
+
+    // 외부 파일 크기 (파일이 없으면 0)
+    public static long getLength() {
+        return new File(EXTERNAL_FILE).length();
+    }
+
+    // 같은 디렉토리의 임시 파일에 먼저 기록 (commitWrite 로 교체)
+    public static Path prepareWrite(List<KeyboardWarrior> warriors) throws IOException {
+        Path tempFile = AtomicFiles.createTempFile(new File(EXTERNAL_FILE).toPath());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), warriors);
+        return tempFile;
+    }
+
+    // 임시 파일을 원자적으로 외부 파일과 교체
+    public static void commitWrite(Path tempFile) throws IOException {
+        AtomicFiles.moveIntoPlace(tempFile, new File(EXTERNAL_FILE).toPath());
     }
 }
@@ -0,0 +1,157 @@
+package com.example.apipractice.util;
+
+import com.example.apipractice.domain.MatchRecord;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 일괄 등록용 전적 스트림 파서 - 전체를 메모리에 올리지 않고 한 건씩 넘겨줌
+// NDJSON(또는 JSON 배열)은 Jackson 스트리밍 파서로, CSV 는 첫 줄 헤더 기준으로 한 행씩 읽음 (따옴표 안 줄바꿈 허용)
+public class MatchRecordReader {
+
+    public interface Handler {
+        void accept(MatchRecord record, int line) throws IOException;
+    }
+
+    private final ObjectMapper objectMapper;
+
+    public MatchRecordReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public int readNdjson(InputStream inputStream, Handler handler) throws IOException {
+        int count = 0;
+        try (MappingIterator<MatchRecord> iterator = objectMapper.readerFor(MatchRecord.class).readValues(inputStream)) {
+            while (true) {
+                MatchRecord record;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    record = iterator.nextValue();
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException(lineOf(e.getLocation()) + "번째 줄 형식 오류: " + e.getOriginalMessage());
+                }
+                handler.accept(record, lineOf(iterator.getCurrentLocation()));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // 헤더 예: warriorId,opponentId,result,score,matchDate,gameType,description,pointsChange
+    public int readCsv(InputStream inputStream, Handler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return 0;
+        }
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1); // 엑셀에서 저장한 BOM 제거
+        }
+        List<String> header = splitCsvLine(headerLine, 1);
+
+        int count = 0;
+        int lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            // 따옴표 안의 줄바꿈은 값의 일부이므로 따옴표가 닫힐 때까지 다음 줄을 이어 붙임 (줄바꿈은 \n 으로 통일)
+            int startLine = lineNumber;
+            int quotes = countQuotes(line);
+            while (quotes % 2 != 0) {
+                String next = reader.readLine();
+                if (next == null) {
+                    throw new IllegalArgumentException(startLine + "번째 줄의 따옴표가 닫히지 않았습니다.");
+                }
+                lineNumber++;
+                line = line + "\n" + next;
+                quotes += countQuotes(next);
+            }
+            List<String> values = splitCsvLine(line, startLine);
+            if (values.size() > header.size()) {
+                throw new IllegalArgumentException(startLine + "번째 줄의 열 개수가 헤더보다 많습니다.");
+            }
+
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                if (!values.get(i).isEmpty()) {
+                    fields.put(header.get(i).trim(), values.get(i));
+                }
+            }
+
+            MatchRecord record;
+            try {
+                record = objectMapper.convertValue(fields, MatchRecord.class);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(startLine + "번째 줄 형식 오류: " + e.getMessage());
+            }
+            handler.accept(record, startLine);
+            count++;
+        }
+        return count;
+    }
+
+    // 큰따옴표로 감싼 값(쉼표, "" 이스케이프 포함)을 지원하는 한 줄 분리
+    private static List<String> splitCsvLine(String line, int lineNumber) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException(lineNumber + "번째 줄의 따옴표가 닫히지 않았습니다.");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // "" 이스케이프도 두 개로 세므로 홀수면 따옴표가 열린 채 줄이 끝난 것
+    private static int countQuotes(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int lineOf(JsonLocation location) {
+        return location != null ? location.getLineNr() : -1;
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.apipractice.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// 닉네임/한마디 검색 인덱스 - 자모로 풀어 쓴 문자열의 1글자/2글자 조각(n-gram) -> 배틀러 id 목록
+// 검색어 조각 중 가장 짧은 목록만 후보로 꺼내 원문과 비교하므로 전체 배틀러를 훑지 않음
+// 한글은 자모 단위로 비교해 입력 중인 글자("키ㅂ", "킵")도 "키보드"의 앞부분으로 찾고,
+// 자음만 입력하면 닉네임 초성("ㅋㅂㄷ")으로도 찾음
+public class NicknameSearchIndex {
+
+    // 일치 정도 (작을수록 앞에 표시)
+    public static final int EXACT = 0;
+    public static final int PREFIX = 1;
+    public static final int CONTAINS = 2;
+    public static final int COMMENT = 3;
+
+    private static final char[] CHOSUNG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ".toCharArray();
+    private static final String[] JUNGSUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ",
+            "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONGSUNG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    // 겹자음/겹모음 낱자 (검색어에 따로 입력된 경우)
+    private static final Map<Character, String> COMPOUND_JAMO = Map.ofEntries(
+            Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"), Map.entry('ㄺ', "ㄹㄱ"),
+            Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"), Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"),
+            Map.entry('ㄿ', "ㄹㅍ"), Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"), Map.entry('ㅘ', "ㅗㅏ"),
+            Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"), Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"),
+            Map.entry('ㅟ', "ㅜㅣ"), Map.entry('ㅢ', "ㅡㅣ"));
+
+    // 배틀러별로 정규화해 둔 값 (인덱스에서 뺄 때와 후보 확인에 사용)
+    private record Entry(String nickname, String comment, String initials) {
+    }
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<Integer, Set<Integer>> grams = new HashMap<>();    // 닉네임 + 한마디 자모 조각
+    private final Map<Integer, Set<Integer>> initials = new HashMap<>(); // 닉네임 초성 조각
+
+    // 항목 추가 또는 갱신
+    public synchronized void put(int id, String nickname, String comment) {
+        Entry entry = new Entry(decompose(nickname), decompose(comment), initialsOf(nickname));
+        Entry existing = entries.get(id);
+        if (entry.equals(existing)) {
+            return;
+        }
+        if (existing != null) {
+            unindex(id, existing);
+        }
+        entries.put(id, entry);
+        Set<Integer> keys = new HashSet<>();
+        addGrams(entry.nickname(), keys);
+        addGrams(entry.comment(), keys);
+        for (int key : keys) {
+            grams.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+        }
+        keys.clear();
+        addGrams(entry.initials(), keys);
+        for (int key : keys) {
+            initials.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    public synchronized void remove(int id) {
+        Entry existing = entries.remove(id);
+        if (existing != null) {
+            unindex(id, existing);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        grams.clear();
+        initials.clear();
+    }
+
+    // 검색어와 맞는 배틀러 id -> 일치 정도 (EXACT, PREFIX, CONTAINS, COMMENT)
+    public synchronized Map<Integer, Integer> search(String query) {
+        Map<Integer, Integer> hits = new HashMap<>();
+        String jamo = decompose(query);
+        if (jamo.isEmpty()) {
+            return hits;
+        }
+        for (int id : candidates(grams, jamo)) {
+            Entry entry = entries.get(id);
+            int level;
+            if (entry.nickname().equals(jamo)) {
+                level = EXACT;
+            } else if (entry.nickname().startsWith(jamo)) {
+                level = PREFIX;
+            } else if (entry.nickname().contains(jamo)) {
+                level = CONTAINS;
+            } else if (entry.comment().contains(jamo)) {
+                level = COMMENT;
+            } else {
+                continue;
+            }
+            hits.put(id, level);
+        }
+        // 자음만으로 된 검색어는 닉네임 초성과도 비교
+        String consonants = query.toLowerCase().replaceAll("\\s+", "");
+        if (isConsonants(consonants)) {
+            for (int id : candidates(initials, consonants)) {
+                String initialsOfNickname = entries.get(id).initials();
+                int level;
+                if (initialsOfNickname.startsWith(consonants)) {
+                    level = PREFIX;
+                } else if (initialsOfNickname.contains(consonants)) {
+                    level = CONTAINS;
+                } else {
+                    continue;
+                }
+                hits.merge(id, level, Math::min);
+            }
+        }
+        return hits;
+    }
+
+    private void unindex(int id, Entry entry) {
+        Set<Integer> keys = new HashSet<>();
+        addGrams(entry.nickname(), keys);
+        addGrams(entry.comment(), keys);
+        removePostings(grams, keys, id);
+        keys.clear();
+        addGrams(entry.initials(), keys);
+        removePostings(initials, keys, id);
+    }
+
+    private static void removePostings(Map<Integer, Set<Integer>> postings, Set<Integer> keys, int id) {
+        for (int key : keys) {
+            Set<Integer> ids = postings.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    // 검색어 조각의 목록 중 가장 짧은 것 (어느 조각이든 없으면 결과 없음)
+    private static Set<Integer> candidates(Map<Integer, Set<Integer>> postings, String text) {
+        if (text.length() == 1) {
+            return postings.getOrDefault(gramOf(text.charAt(0)), Set.of());
+        }
+        Set<Integer> smallest = null;
+        for (int i = 0; i + 1 < text.length(); i++) {
+            Set<Integer> ids = postings.get(gramOf(text.charAt(i), text.charAt(i + 1)));
+            if (ids == null) {
+                return Set.of();
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        return smallest;
+    }
+
+    private static void addGrams(String text, Set<Integer> keys) {
+        for (int i = 0; i < text.length(); i++) {
+            keys.add(gramOf(text.charAt(i)));
+            if (i + 1 < text.length()) {
+                keys.add(gramOf(text.charAt(i), text.charAt(i + 1)));
+            }
+        }
+    }
+
+    // 1글자 조각은 0~0xFFFF, 2글자 조각은 그보다 큰 값이라 겹치지 않음
+    private static int gramOf(char c) {
+        return c;
+    }
+
+    private static int gramOf(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    // 소문자로 바꾸고 공백을 뺀 뒤 한글 음절과 겹자모를 낱자모로 풀어 씀 ("닭" -> "ㄷㅏㄹㄱ")
+    static String decompose(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length() * 3);
+        for (char c : text.toLowerCase().toCharArray()) {
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (isSyllable(c)) {
+                int offset = c - 0xAC00;
+                builder.append(CHOSUNG[offset / 588])
+                        .append(JUNGSUNG[offset % 588 / 28])
+                        .append(JONGSUNG[offset % 28]);
+            } else {
+                builder.append(COMPOUND_JAMO.getOrDefault(c, String.valueOf(c)));
+            }
+        }
+        return builder.toString();
+    }
+
+    // 닉네임 초성 ("키보드왕" -> "ㅋㅂㄷㅇ", 한글 음절이 아닌 글자는 그대로)
+    static String initialsOf(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (char c : text.toLowerCase().toCharArray()) {
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            builder.append(isSyllable(c) ? CHOSUNG[(c - 0xAC00) / 588] : c);
+        }
+        return builder.toString();
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= 0xAC00 && c <= 0xD7A3;
+    }
+
+    // 한글 자음 낱자(ㄱ~ㅎ)로만 된 문자열
+    private static boolean isConsonants(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (char c : text.toCharArray()) {
+            if (c < 'ㄱ' || c > 'ㅎ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
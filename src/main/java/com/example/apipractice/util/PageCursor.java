@@ -0,0 +1,86 @@
+package com.example.apipractice.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 클라이언트에는 내부 정렬 키를 감춘 불투명 문자열로 전달하는 페이지 커서
+public final class PageCursor {
+
+    private PageCursor() {
+    }
+
+    // 사용자 목록용 (id 순)
+    public static String ofId(long id) {
+        return encode(Long.toString(id));
+    }
+
+    public static long toId(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    // 검색 결과용 (결과 목록 안의 다음 위치)
+    public static String ofOffset(int offset) {
+        return encode("@" + offset);
+    }
+
+    public static int toOffset(String cursor) {
+        String raw = decode(cursor);
+        try {
+            int offset = raw.startsWith("@") ? Integer.parseInt(raw.substring(1)) : -1;
+            if (offset < 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    // 전적 목록용 (경기 날짜, id)
+    public static String ofDateAndId(LocalDate date, int id) {
+        return encode((date != null ? date.toString() : "-") + "|" + id);
+    }
+
+    public static LocalDate toDate(String cursor) {
+        String date = split(cursor)[0];
+        try {
+            return "-".equals(date) ? null : LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    public static int toDateId(String cursor) {
+        try {
+            return Integer.parseInt(split(cursor)[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    private static String[] split(String cursor) {
+        String[] parts = decode(cursor).split("\\|");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        return parts;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+}
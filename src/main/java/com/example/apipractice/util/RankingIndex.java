@@ -0,0 +1,212 @@
+package com.example.apipractice.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 순위 조회용 순서 통계 트리 (서브트리 크기를 가진 트리프)
+// 정렬 기준: group 오름차순 -> score 내림차순 -> id 오름차순
+// 갱신/순위 조회 O(log n), 상위 N개 조회 O(log n + N)
+public class RankingIndex {
+
+    private static final class Node {
+        final int id;
+        final int group;
+        final long score;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(int id, int group, long score) {
+            this.id = id;
+            this.group = group;
+            this.score = score;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private Node root;
+
+    // 항목 추가 또는 순위 키 갱신
+    public synchronized void put(int id, int group, long score) {
+        Node existing = nodes.get(id);
+        if (existing != null) {
+            if (existing.group == group && existing.score == score) {
+                return;
+            }
+            root = delete(root, existing);
+        }
+        Node node = new Node(id, group, score);
+        nodes.put(id, node);
+        Node[] parts = split(root, node);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    // 그룹은 그대로 두고 점수만 갱신 (없는 id 는 무시)
+    public synchronized void updateScore(int id, long score) {
+        Node existing = nodes.get(id);
+        if (existing != null) {
+            put(id, existing.group, score);
+        }
+    }
+
+    public synchronized void remove(int id) {
+        Node existing = nodes.remove(id);
+        if (existing != null) {
+            root = delete(root, existing);
+        }
+    }
+
+    public synchronized void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    // 1부터 시작하는 순위 (없으면 0)
+    public synchronized int rankOf(int id) {
+        Node target = nodes.get(id);
+        if (target == null) {
+            return 0;
+        }
+        int rank = 1;
+        Node node = root;
+        while (node != null) {
+            int compare = compare(target, node);
+            if (compare < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left);
+                if (compare == 0) {
+                    return rank;
+                }
+                rank += 1;
+                node = node.right;
+            }
+        }
+        return 0;
+    }
+
+    // 해당 순위(1부터)의 id (범위 밖이면 null)
+    public synchronized Integer idAt(int rank) {
+        if (rank < 1 || rank > size(root)) {
+            return null;
+        }
+        int remaining = rank;
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (remaining <= leftSize) {
+                node = node.left;
+            } else if (remaining == leftSize + 1) {
+                return node.id;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    // offset 번째부터 최대 limit 개의 id (순위순)
+    public synchronized List<Integer> range(int offset, int limit) {
+        List<Integer> ids = new ArrayList<>(Math.max(0, Math.min(limit, size(root) - offset)));
+        collect(root, Math.max(0, offset), limit, ids);
+        return ids;
+    }
+
+    private static void collect(Node node, int skip, int limit, List<Integer> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (skip < leftSize) {
+            collect(node.left, skip, limit, out);
+        }
+        if (out.size() >= limit) {
+            return;
+        }
+        if (skip <= leftSize) {
+            out.add(node.id);
+        }
+        collect(node.right, Math.max(0, skip - leftSize - 1), limit, out);
+    }
+
+    // key 보다 작은 노드들 / 크거나 같은 노드들로 분리
+    private static Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(node, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            update(node);
+            return new Node[]{node, parts[1]};
+        } else {
+            Node[] parts = split(node.left, key);
+            node.left = parts[1];
+            update(node);
+            return new Node[]{parts[0], node};
+        }
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            update(right);
+            return right;
+        }
+    }
+
+    private static Node delete(Node node, Node target) {
+        if (node == null) {
+            return null;
+        }
+        int compare = compare(target, node);
+        if (compare == 0) {
+            return merge(node.left, node.right);
+        }
+        if (compare < 0) {
+            node.left = delete(node.left, target);
+        } else {
+            node.right = delete(node.right, target);
+        }
+        update(node);
+        return node;
+    }
+
+    private static int compare(Node a, Node b) {
+        if (a.group != b.group) {
+            return Integer.compare(a.group, b.group);
+        }
+        if (a.score != b.score) {
+            return Long.compare(b.score, a.score);
+        }
+        return Integer.compare(a.id, b.id);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.apipractice.util;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+// 정렬된 long 키 집합 - 객체 없이 일정 크기 묶음(chunk)의 기본형 배열로 저장
+// 추가/삭제는 묶음 하나 안에서만 이동하므로 O(log n + CHUNK), 순회는 배열을 그대로 읽음
+// 동기화하지 않으므로 사용하는 쪽의 잠금 안에서 호출
+public class SortedLongSet {
+
+    private static final int CHUNK = 512;
+
+    private long[][] chunks = new long[0][];
+    private int[] sizes = new int[0];
+    private int chunkCount = 0;
+    private int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean add(long key) {
+        if (chunkCount == 0) {
+            insertChunk(0, new long[CHUNK], 0);
+        }
+        int c = chunkFor(key);
+        int index = Arrays.binarySearch(chunks[c], 0, sizes[c], key);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+        if (sizes[c] == CHUNK) {
+            // 가득 찬 묶음은 반으로 나눔
+            int half = CHUNK / 2;
+            long[] upper = new long[CHUNK];
+            System.arraycopy(chunks[c], half, upper, 0, CHUNK - half);
+            sizes[c] = half;
+            insertChunk(c + 1, upper, CHUNK - half);
+            if (index > half) {
+                c++;
+                index -= half;
+            }
+        }
+        long[] chunk = chunks[c];
+        System.arraycopy(chunk, index, chunk, index + 1, sizes[c] - index);
+        chunk[index] = key;
+        sizes[c]++;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long key) {
+        if (chunkCount == 0) {
+            return false;
+        }
+        int c = chunkFor(key);
+        int index = Arrays.binarySearch(chunks[c], 0, sizes[c], key);
+        if (index < 0) {
+            return false;
+        }
+        long[] chunk = chunks[c];
+        System.arraycopy(chunk, index + 1, chunk, index, sizes[c] - index - 1);
+        sizes[c]--;
+        size--;
+        if (sizes[c] == 0) {
+            removeChunk(c);
+        }
+        return true;
+    }
+
+    public void clear() {
+        chunks = new long[0][];
+        sizes = new int[0];
+        chunkCount = 0;
+        size = 0;
+    }
+
+    // 오름차순 전체 순회 (visitor 가 false 를 반환하면 중단)
+    public void forEachAscending(LongPredicate visitor) {
+        for (int c = 0; c < chunkCount; c++) {
+            long[] chunk = chunks[c];
+            for (int i = 0; i < sizes[c]; i++) {
+                if (!visitor.test(chunk[i])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // upperExclusive 미만의 키를 내림차순으로 순회 (visitor 가 false 를 반환하면 중단)
+    public void forEachDescendingBelow(long upperExclusive, LongPredicate visitor) {
+        if (chunkCount == 0) {
+            return;
+        }
+        int c = chunkFor(upperExclusive);
+        int index = Arrays.binarySearch(chunks[c], 0, sizes[c], upperExclusive);
+        int position = (index >= 0 ? index : -index - 1) - 1;
+        descendFrom(c, position, visitor);
+    }
+
+    // 내림차순 전체 순회
+    public void forEachDescending(LongPredicate visitor) {
+        if (chunkCount > 0) {
+            descendFrom(chunkCount - 1, sizes[chunkCount - 1] - 1, visitor);
+        }
+    }
+
+    private void descendFrom(int c, int position, LongPredicate visitor) {
+        while (c >= 0) {
+            long[] chunk = chunks[c];
+            for (int i = position; i >= 0; i--) {
+                if (!visitor.test(chunk[i])) {
+                    return;
+                }
+            }
+            c--;
+            if (c >= 0) {
+                position = sizes[c] - 1;
+            }
+        }
+    }
+
+    // key 가 들어갈 묶음 (첫 키가 key 이하인 마지막 묶음, 없으면 첫 묶음)
+    private int chunkFor(long key) {
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunks[mid][0] <= key) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private void insertChunk(int at, long[] chunk, int chunkSize) {
+        if (chunkCount == chunks.length) {
+            int capacity = Math.max(4, chunkCount * 2);
+            chunks = Arrays.copyOf(chunks, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+        System.arraycopy(chunks, at, chunks, at + 1, chunkCount - at);
+        System.arraycopy(sizes, at, sizes, at + 1, chunkCount - at);
+        chunks[at] = chunk;
+        sizes[at] = chunkSize;
+        chunkCount++;
+    }
+
+    private void removeChunk(int at) {
+        System.arraycopy(chunks, at + 1, chunks, at, chunkCount - at - 1);
+        System.arraycopy(sizes, at + 1, sizes, at, chunkCount - at - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+    }
+}
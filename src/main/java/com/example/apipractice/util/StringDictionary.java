@@ -0,0 +1,52 @@
+package com.example.apipractice.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 문자열 사전 - 반복되는 값을 한 번만 저장하고 정수 코드로 대신 사용 (코드 0 은 null)
+// 한 번 발급한 코드는 바뀌지 않음 (값이 더 이상 쓰이지 않아도 지우지 않음)
+// 동기화하지 않으므로 사용하는 쪽의 잠금 안에서 호출
+public class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    public StringDictionary(String... preset) {
+        values.add(null);
+        for (String value : preset) {
+            encode(value);
+        }
+    }
+
+    // 값의 코드 (처음 보는 값이면 새로 발급)
+    public int encode(String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            values.add(value);
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    // 발급된 코드만 조회 (없으면 -1)
+    public int find(String value) {
+        if (value == null) {
+            return 0;
+        }
+        return codes.getOrDefault(value, -1);
+    }
+
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    public int size() {
+        return values.size() - 1;
+    }
+}
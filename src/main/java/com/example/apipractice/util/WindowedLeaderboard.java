@@ -0,0 +1,190 @@
+package com.example.apipractice.util;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 기간별 랭킹 (오늘/이번 주/이번 달/이번 시즌) - 경기 날짜별 포인트 버킷을 기간 합계로 묶어 순위 유지
+// 전적이 바뀔 때 해당 날짜 버킷과 그 날짜를 포함하는 기간 합계만 갱신하고,
+// 날짜가 바뀌어 기간이 넘어가면 그 기간만 버킷에서 다시 합산, 가장 긴 기간보다 오래된 버킷은 버림
+public class WindowedLeaderboard {
+
+    public enum Window {
+        DAY, WEEK, MONTH, SEASON;
+
+        // "day", "week", "month", "season" (대소문자 무관)
+        public static Window parse(String value) {
+            for (Window window : values()) {
+                if (window.name().equalsIgnoreCase(value)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 랭킹 기간입니다: " + value);
+        }
+    }
+
+    // 한 기간의 합계와 순위
+    private static final class Board {
+        int start;
+        int end;
+        final Map<Integer, long[]> totals = new HashMap<>(); // 배틀러 -> {포인트, 경기 수}
+        final RankingIndex ranking = new RankingIndex();
+    }
+
+    private final int seasonMonths;
+    private final Clock clock;
+    // 날짜(epoch day) -> 배틀러 -> {포인트, 경기 수}
+    private final TreeMap<Integer, Map<Integer, long[]>> buckets = new TreeMap<>();
+    private final Map<Window, Board> boards = new EnumMap<>(Window.class);
+    private int today = Integer.MIN_VALUE;
+    private int oldest = Integer.MIN_VALUE; // 가장 이른 기간의 시작일 (이보다 오래된 경기는 보관하지 않음)
+
+    // seasonMonths: 시즌 길이 (개월, 1월부터 나눔 - 3 이면 분기)
+    public WindowedLeaderboard(int seasonMonths) {
+        this(seasonMonths, Clock.systemDefaultZone());
+    }
+
+    // clock: 오늘 날짜 기준 (테스트에서 날짜를 옮길 때 사용)
+    public WindowedLeaderboard(int seasonMonths, Clock clock) {
+        if (seasonMonths < 1 || seasonMonths > 12) {
+            throw new IllegalArgumentException("시즌 길이는 1~12개월이어야 합니다: " + seasonMonths);
+        }
+        this.seasonMonths = seasonMonths;
+        this.clock = clock;
+        for (Window window : Window.values()) {
+            boards.put(window, new Board());
+        }
+    }
+
+    // 한 배틀러의 경기 한 건 반영 (sign 1: 추가, -1: 제거)
+    public synchronized void add(int warriorId, int epochDay, long points, int sign) {
+        roll();
+        if (epochDay < oldest) {
+            return; // 어느 기간에도 속하지 않는 오래된 경기
+        }
+        Map<Integer, long[]> bucket = buckets.computeIfAbsent(epochDay, k -> new HashMap<>());
+        if (apply(bucket, warriorId, points, sign) && bucket.isEmpty()) {
+            buckets.remove(epochDay);
+        }
+        for (Board board : boards.values()) {
+            if (epochDay >= board.start && epochDay <= board.end) {
+                apply(board, warriorId, sign * points, sign);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        buckets.clear();
+        today = Integer.MIN_VALUE;
+        oldest = Integer.MIN_VALUE;
+        for (Window window : Window.values()) {
+            boards.put(window, new Board());
+        }
+    }
+
+    // 기간 순위 offset 번째부터 최대 limit 명 (배틀러 -> 기간 포인트, 순위순)
+    public synchronized Map<Integer, Long> range(Window window, int offset, int limit) {
+        roll();
+        Board board = boards.get(window);
+        List<Integer> ids = board.ranking.range(offset, limit);
+        Map<Integer, Long> result = new LinkedHashMap<>();
+        for (int id : ids) {
+            result.put(id, board.totals.get(id)[0]);
+        }
+        return result;
+    }
+
+    // 기간 안 순위 (1부터, 기간 안 경기가 없으면 0)
+    public synchronized int rankOf(Window window, int warriorId) {
+        roll();
+        return boards.get(window).ranking.rankOf(warriorId);
+    }
+
+    // 날짜가 바뀌었으면 기간이 넘어간 순위만 버킷에서 다시 합산하고 필요 없는 버킷 정리
+    private void roll() {
+        LocalDate now = LocalDate.now(clock);
+        int day = (int) now.toEpochDay();
+        if (day == today) {
+            return;
+        }
+        today = day;
+        int earliest = day;
+        for (Window window : Window.values()) {
+            int[] period = periodOf(window, now);
+            Board board = boards.get(window);
+            if (board.start != period[0] || board.end != period[1]) {
+                Board rebuilt = new Board();
+                rebuilt.start = period[0];
+                rebuilt.end = period[1];
+                for (Map<Integer, long[]> bucket : buckets.subMap(period[0], true, period[1], true).values()) {
+                    for (Map.Entry<Integer, long[]> entry : bucket.entrySet()) {
+                        long[] value = entry.getValue();
+                        apply(rebuilt, entry.getKey(), value[0], value[1]);
+                    }
+                }
+                boards.put(window, rebuilt);
+            }
+            earliest = Math.min(earliest, period[0]);
+        }
+        oldest = earliest;
+        buckets.headMap(oldest, false).clear();
+    }
+
+    private int[] periodOf(Window window, LocalDate now) {
+        LocalDate start;
+        LocalDate end;
+        switch (window) {
+            case DAY -> {
+                start = now;
+                end = now;
+            }
+            case WEEK -> {
+                start = now.with(DayOfWeek.MONDAY);
+                end = start.plusDays(6);
+            }
+            case MONTH -> {
+                start = now.withDayOfMonth(1);
+                end = start.plusMonths(1).minusDays(1);
+            }
+            default -> {
+                int firstMonth = (now.getMonthValue() - 1) / seasonMonths * seasonMonths + 1;
+                start = LocalDate.of(now.getYear(), firstMonth, 1);
+                end = start.plusMonths(seasonMonths).minusDays(1);
+                if (end.getYear() != start.getYear()) {
+                    end = LocalDate.of(start.getYear(), 12, 31); // 12개월로 나누어떨어지지 않으면 마지막 시즌은 연말까지
+                }
+            }
+        }
+        return new int[]{(int) start.toEpochDay(), (int) end.toEpochDay()};
+    }
+
+    private static void apply(Board board, int warriorId, long points, long matches) {
+        long[] total = board.totals.computeIfAbsent(warriorId, k -> new long[2]);
+        total[0] += points;
+        total[1] += matches;
+        if (total[1] <= 0) {
+            board.totals.remove(warriorId);
+            board.ranking.remove(warriorId);
+        } else {
+            board.ranking.put(warriorId, 0, total[0]);
+        }
+    }
+
+    // 버킷에 반영, 해당 배틀러 값이 비면 true
+    private static boolean apply(Map<Integer, long[]> bucket, int warriorId, long points, int sign) {
+        long[] value = bucket.computeIfAbsent(warriorId, k -> new long[2]);
+        value[0] += sign * points;
+        value[1] += sign;
+        if (value[1] <= 0) {
+            bucket.remove(warriorId);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.apipractice.repository;
+
+import com.example.apipractice.domain.HeadToHead;
+import com.example.apipractice.domain.MatchRecord;
+import com.example.apipractice.domain.MatchStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchRecordColumnsTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void keysOrderByDayThenId() {
+        assertTrue(MatchRecordColumns.keyOf(-1, Integer.MAX_VALUE) < MatchRecordColumns.keyOf(0, 0));
+        assertTrue(MatchRecordColumns.keyOf(5, 1) < MatchRecordColumns.keyOf(5, 2));
+        assertTrue(MatchRecordColumns.keyOf(5, Integer.MAX_VALUE) < MatchRecordColumns.keyOf(6, 0));
+        assertEquals(123, MatchRecordColumns.idOf(MatchRecordColumns.keyOf(-3, 123)));
+        assertEquals(Integer.MAX_VALUE, MatchRecordColumns.idOf(MatchRecordColumns.keyOf(19000, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    void statsFollowPutUpdateAndRemove() {
+        MatchRecordColumns columns = new MatchRecordColumns(3);
+        columns.put(record(1, 1, 2, "WIN", 30, 0));
+        columns.put(record(2, 2, 1, "LOSE", -20, 1)); // 1번 입장에서는 승리
+        columns.put(record(3, 1, 3, "LOSE", -10, 2));
+        columns.put(record(4, 1, 3, "WIN", 15, 3));
+
+        MatchStats stats = columns.stats(1);
+        assertEquals(4, stats.getTotalMatches());
+        assertEquals(3, stats.getWins());
+        assertEquals(1, stats.getLosses());
+        assertEquals(65, stats.getPointsGained());
+        assertEquals(10, stats.getPointsLost());
+        assertEquals(2, stats.getLongestWinStreak());
+        assertEquals(1, stats.getCurrentWinStreak());
+        assertEquals(4, stats.getByGameType().get("1v1").getTotalMatches());
+
+        MatchStats opponent = columns.stats(2);
+        assertEquals(2, opponent.getTotalMatches());
+        assertEquals(2, opponent.getLosses());
+        assertEquals(50, opponent.getPointsLost());
+
+        // 중간 전적을 승리로 고치면 연속 승리가 이어짐
+        columns.put(record(3, 1, 3, "WIN", 10, 2));
+        stats = columns.stats(1);
+        assertEquals(4, stats.getWins());
+        assertEquals(0, stats.getLosses());
+        assertEquals(75, stats.getPointsGained());
+        assertEquals(0, stats.getPointsLost());
+        assertEquals(4, stats.getLongestWinStreak());
+        assertEquals(4, stats.getCurrentWinStreak());
+
+        assertTrue(columns.remove(4));
+        assertFalse(columns.remove(4));
+        stats = columns.stats(1);
+        assertEquals(3, stats.getTotalMatches());
+        assertEquals(3, stats.getCurrentWinStreak());
+        assertEquals(60, stats.getPointsGained());
+        assertEquals(1, columns.stats(3).getTotalMatches());
+
+        // 마지막 전적이 빠지면 통계도 사라짐
+        assertTrue(columns.remove(3));
+        assertNull(columns.stats(3));
+        assertEquals(2, columns.size());
+    }
+
+    @Test
+    void warriorIndexIsNewestFirstFromEitherSide() {
+        MatchRecordColumns columns = new MatchRecordColumns(3);
+        columns.put(record(1, 1, 2, "WIN", 10, 2));
+        columns.put(record(2, 3, 1, "DRAW", 0, 0));
+        columns.put(record(3, 1, 3, "LOSE", -5, 2)); // 같은 날이면 id 순
+        columns.put(record(4, 2, 3, "WIN", 5, 5));
+
+        List<Integer> ids = new ArrayList<>();
+        columns.forEachByWarrior(1, Long.MAX_VALUE, key -> ids.add(MatchRecordColumns.idOf(key)));
+        assertEquals(List.of(3, 1, 2), ids);
+        assertEquals(3, columns.countByWarrior(1));
+
+        // 다른 배틀러가 등록한 전적은 보는 사람 입장으로 뒤집힘
+        MatchRecord view = columns.view(2, 1);
+        assertEquals(1, view.getWarriorId());
+        assertEquals(3, view.getOpponentId());
+        assertEquals("DRAW", view.getResult());
+        assertEquals("LOSE", columns.view(1, 2).getResult());
+        assertEquals(-10, columns.view(1, 2).getPointsChange());
+    }
+
+    @Test
+    void headToHeadIsSharedByBothSides() {
+        MatchRecordColumns columns = new MatchRecordColumns(3);
+        columns.put(record(1, 1, 2, "WIN", 30, 0));
+        columns.put(record(2, 2, 1, "WIN", 20, 1));
+        columns.put(record(3, 1, 2, "DRAW", 0, 2));
+        columns.put(record(4, 2, 1, "LOSE", -15, 3));
+        columns.put(record(5, 1, 1, "WIN", 99, 4)); // 자기 자신과의 경기는 상대 전적에서 제외
+
+        HeadToHead mine = columns.headToHead(1, 2, 2);
+        assertEquals(2, mine.getOpponentId());
+        assertEquals(4, mine.getTotalMatches());
+        assertEquals(2, mine.getWins());
+        assertEquals(1, mine.getLosses());
+        assertEquals(1, mine.getDraws());
+        assertEquals(25, mine.getPointsChange());
+        assertEquals(List.of(4, 3), mine.getRecentMatchIds());
+
+        HeadToHead theirs = columns.headToHead(2, 1, 10);
+        assertEquals(1, theirs.getWins());
+        assertEquals(2, theirs.getLosses());
+        assertEquals(-25, theirs.getPointsChange());
+        assertEquals(List.of(4, 3, 2, 1), theirs.getRecentMatchIds());
+        assertNull(columns.headToHead(1, 1, 10));
+
+        // 결과를 고치거나 지우면 두 사람 모두에게 반영
+        columns.put(record(4, 2, 1, "WIN", 15, 3));
+        assertEquals(1, columns.headToHead(1, 2, 0).getWins());
+        assertEquals(2, columns.headToHead(2, 1, 0).getWins());
+        columns.remove(1);
+        columns.remove(2);
+        columns.remove(3);
+        assertEquals(1, columns.headToHead(1, 2, 0).getTotalMatches());
+        columns.remove(4);
+        assertNull(columns.headToHead(1, 2, 10));
+        assertNull(columns.headToHead(2, 1, 10));
+    }
+
+    @Test
+    void topRivalsOrderByMatchesThenOpponentId() {
+        MatchRecordColumns columns = new MatchRecordColumns(3);
+        columns.put(record(1, 1, 4, "WIN", 10, 0));
+        columns.put(record(2, 1, 3, "WIN", 10, 1));
+        columns.put(record(3, 3, 1, "WIN", 10, 2));
+        columns.put(record(4, 1, 2, "LOSE", -10, 3));
+        columns.put(record(5, 2, 1, "DRAW", 0, 4));
+
+        List<Integer> opponents = columns.topRivals(1, 10).stream().map(HeadToHead::getOpponentId).toList();
+        assertEquals(List.of(2, 3, 4), opponents);
+        assertEquals(List.of(2), columns.topRivals(1, 1).stream().map(HeadToHead::getOpponentId).toList());
+        assertTrue(columns.topRivals(9, 10).isEmpty());
+    }
+
+    private static MatchRecord record(int id, int warriorId, int opponentId, String result, int points, int dayOffset) {
+        return MatchRecord.builder()
+                .id(id)
+                .warriorId(warriorId)
+                .opponentId(opponentId)
+                .result(result)
+                .score("2-1")
+                .matchDate(START.plusDays(dayOffset))
+                .gameType("1v1")
+                .pointsChange(points)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.apipractice.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UnitOfWorkTest {
+
+    // 호출된 단계를 기록하는 저장소 (failOn 단계에서 예외)
+    private static final class RecordingStore implements TransactionalStore<Object> {
+        final String name;
+        final String failOn;
+        final List<String> calls;
+
+        RecordingStore(String name, String failOn, List<String> calls) {
+            this.name = name;
+            this.failOn = failOn;
+            this.calls = calls;
+        }
+
+        @Override
+        public Object newPending() {
+            return new Object();
+        }
+
+        @Override
+        public void prepare(Object pending) throws IOException {
+            step("prepare");
+        }
+
+        @Override
+        public void commit(Object pending) throws IOException {
+            step("commit");
+        }
+
+        @Override
+        public void rollback(Object pending) {
+            calls.add(name + ".rollback");
+        }
+
+        private void step(String phase) throws IOException {
+            calls.add(name + "." + phase);
+            if (phase.equals(failOn)) {
+                throw new IOException(name + " " + phase + " 실패");
+            }
+        }
+    }
+
+    @Test
+    void prepareFailureRollsBackEveryStore() {
+        UnitOfWork unitOfWork = new UnitOfWork();
+        List<String> calls = new ArrayList<>();
+        RecordingStore first = new RecordingStore("a", null, calls);
+        RecordingStore second = new RecordingStore("b", "prepare", calls);
+
+        assertThrows(IOException.class, () -> unitOfWork.execute(() -> {
+            unitOfWork.pending(first);
+            unitOfWork.pending(second);
+            unitOfWork.onRollback(() -> calls.add("callback"));
+            return null;
+        }));
+        assertEquals(List.of("a.prepare", "b.prepare", "a.rollback", "b.rollback", "callback"), calls);
+    }
+
+    @Test
+    void commitFailureKeepsStoresThatAlreadyCommitted() {
+        UnitOfWork unitOfWork = new UnitOfWork();
+        List<String> calls = new ArrayList<>();
+        RecordingStore first = new RecordingStore("a", null, calls);
+        RecordingStore second = new RecordingStore("b", "commit", calls);
+
+        assertThrows(IOException.class, () -> unitOfWork.execute(() -> {
+            unitOfWork.pending(first);
+            unitOfWork.pending(second);
+            unitOfWork.onRollback(() -> calls.add("callback"));
+            return null;
+        }));
+        // a 는 파일까지 반영됐으므로 메모리도 그대로 두고, b 만 되돌림
+        assertEquals(List.of("a.prepare", "b.prepare", "a.commit", "b.commit", "b.rollback"), calls);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.apipractice.service;
+
+import com.example.apipractice.config.JacksonConfig;
+import com.example.apipractice.domain.MatchRecord;
+import com.example.apipractice.util.MatchRecordReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MatchRecordCsvTest {
+
+    private final MatchRecordReader reader = new MatchRecordReader(new JacksonConfig().objectMapper());
+
+    @Test
+    void exportedCsvWithMultiLineDescriptionReadsBack() throws IOException {
+        MatchRecord multiLine = record(1, "첫 줄\n둘째 줄, \"인용\"\n");
+        MatchRecord plain = record(2, "한 줄");
+        String csv = String.join(",", MatchRecordService.EXPORT_CSV_COLUMNS) + "\n"
+                + MatchRecordService.toCsvLine(multiLine) + MatchRecordService.toCsvLine(plain);
+
+        List<MatchRecord> imported = new ArrayList<>();
+        List<Integer> lines = new ArrayList<>();
+        int count = reader.readCsv(input(csv), (record, line) -> {
+            imported.add(record);
+            lines.add(line);
+        });
+
+        assertEquals(2, count);
+        assertEquals(multiLine.getDescription(), imported.get(0).getDescription());
+        assertEquals("한 줄", imported.get(1).getDescription());
+        assertEquals(LocalDate.of(2024, 5, 1), imported.get(1).getMatchDate());
+        assertEquals(-12, imported.get(1).getPointsChange());
+        assertEquals(List.of(2, 5), lines); // 각 행이 시작한 줄
+    }
+
+    @Test
+    void unclosedQuoteReportsStartingLine() {
+        String csv = "warriorId,opponentId,description\n1,2,ok\n1,2,\"열린 채로\n끝남\n";
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> reader.readCsv(input(csv), (record, line) -> { }));
+        assertEquals("3번째 줄의 따옴표가 닫히지 않았습니다.", e.getMessage());
+    }
+
+    private static MatchRecord record(int id, String description) {
+        return MatchRecord.builder()
+                .id(id)
+                .warriorId(1)
+                .opponentId(2)
+                .result("WIN")
+                .score("3-1")
+                .matchDate(LocalDate.of(2024, 5, 1))
+                .gameType("1v1")
+                .description(description)
+                .opponentName("상대")
+                .pointsChange(-12)
+                .build();
+    }
+
+    private static ByteArrayInputStream input(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
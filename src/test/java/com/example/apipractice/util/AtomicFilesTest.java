@@ -0,0 +1,49 @@
+package com.example.apipractice.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AtomicFilesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replacementKeepsTargetPermissions() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path target = directory.resolve("data").resolve("mock_data.json");
+        Files.createDirectories(target.getParent());
+        Files.writeString(target, "old");
+        Files.setPosixFilePermissions(target, PosixFilePermissions.fromString("rw-r-----"));
+
+        Path tempFile = AtomicFiles.createTempFile(target);
+        assertEquals(target.getParent(), tempFile.getParent());
+        Files.writeString(tempFile, "new");
+        AtomicFiles.moveIntoPlace(tempFile, target);
+
+        assertEquals("new", Files.readString(target));
+        assertEquals("rw-r-----", PosixFilePermissions.toString(Files.getPosixFilePermissions(target)));
+        assertFalse(Files.exists(tempFile));
+    }
+
+    @Test
+    void newFileGetsSamePermissionsAsAPlainlyCreatedFile() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path plain = Files.createFile(directory.resolve("plain.json"));
+        Path target = directory.resolve("snapshot.bin");
+
+        AtomicFiles.moveIntoPlace(AtomicFiles.createTempFile(target), target);
+
+        assertEquals(Files.getPosixFilePermissions(plain), Files.getPosixFilePermissions(target));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.apipractice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NicknameSearchIndexTest {
+
+    @Test
+    void decomposesSyllablesAndCompoundJamo() {
+        assertEquals("ㄷㅏㄹㄱ", NicknameSearchIndex.decompose("닭"));
+        assertEquals("ㅋㅣㅂㅗㄷㅡ", NicknameSearchIndex.decompose("키 보드"));
+        assertEquals("ㄱㅗㅏㄱㅅ", NicknameSearchIndex.decompose("과ㄳ"));
+        assertEquals("abcㅇㅗㅏㅇ", NicknameSearchIndex.decompose("ABC왕"));
+        assertEquals("ㅋㅂㄷㅇ", NicknameSearchIndex.initialsOf("키보드 왕"));
+        assertEquals("", NicknameSearchIndex.decompose(null));
+    }
+
+    @Test
+    void matchesPartialSyllablesAndInitials() {
+        NicknameSearchIndex index = new NicknameSearchIndex();
+        index.put(1, "키보드왕", "손이 빠름");
+        index.put(2, "왕키보드", null);
+        index.put(3, "마우스", "키보드는 거들 뿐");
+        index.put(4, "키보드", null);
+
+        assertEquals(Map.of(4, NicknameSearchIndex.EXACT, 1, NicknameSearchIndex.PREFIX,
+                2, NicknameSearchIndex.CONTAINS, 3, NicknameSearchIndex.COMMENT), index.search("키보드"));
+
+        // 입력 중인 글자 - "킵"은 "키ㅂ"과 같은 자모
+        Map<Integer, Integer> typing = index.search("킵");
+        assertEquals(NicknameSearchIndex.PREFIX, typing.get(1));
+        assertEquals(NicknameSearchIndex.CONTAINS, typing.get(2));
+        assertEquals(typing, index.search("키ㅂ"));
+
+        // 초성
+        Map<Integer, Integer> initials = index.search("ㅋㅂ");
+        assertEquals(NicknameSearchIndex.PREFIX, initials.get(1));
+        assertEquals(NicknameSearchIndex.PREFIX, initials.get(4));
+        assertEquals(NicknameSearchIndex.CONTAINS, initials.get(2));
+        assertEquals(Map.of(3, NicknameSearchIndex.PREFIX), index.search("ㅁㅇㅅ"));
+
+        assertTrue(index.search("ㅎㅎ").isEmpty());
+        assertTrue(index.search("  ").isEmpty());
+    }
+
+    @Test
+    void updatesAndRemovalsReplaceOldTerms() {
+        NicknameSearchIndex index = new NicknameSearchIndex();
+        index.put(1, "닭강정", "Fast Typer");
+        assertEquals(Map.of(1, NicknameSearchIndex.COMMENT), index.search("typer"));
+
+        index.put(1, "고양이", "slow");
+        assertTrue(index.search("닭").isEmpty());
+        assertTrue(index.search("typer").isEmpty());
+        assertEquals(Map.of(1, NicknameSearchIndex.PREFIX), index.search("ㄱㅇ"));
+
+        index.remove(1);
+        assertTrue(index.search("고양이").isEmpty());
+        assertTrue(index.search("ㄱㅇ").isEmpty());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.apipractice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortedLongSetTest {
+
+    @Test
+    void keepsOrderAcrossChunkSplitsAndRemovals() {
+        SortedLongSet set = new SortedLongSet();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+        // 묶음(512개)이 여러 번 나뉘도록 무작위 순서로 추가
+        for (int i = 0; i < 5000; i++) {
+            long key = random.nextInt(20000) - 10000L;
+            assertEquals(expected.add(key), set.add(key));
+        }
+        assertEquals(expected.size(), set.size());
+        assertEquals(new ArrayList<>(expected), ascending(set));
+
+        // 절반을 지워 묶음이 비거나 줄어든 뒤에도 순서 유지
+        for (long key = -10000; key < 10000; key += 2) {
+            assertEquals(expected.remove(key), set.remove(key));
+        }
+        assertEquals(expected.size(), set.size());
+        assertEquals(new ArrayList<>(expected), ascending(set));
+        assertEquals(new ArrayList<>(expected.descendingSet()), descending(set));
+    }
+
+    @Test
+    void descendingBelowStartsUnderBoundAndStopsWhenVisitorReturnsFalse() {
+        SortedLongSet set = new SortedLongSet();
+        for (long key = 0; key < 2000; key++) {
+            set.add(key * 10);
+        }
+        List<Long> visited = new ArrayList<>();
+        set.forEachDescendingBelow(5000, key -> {
+            visited.add(key);
+            return visited.size() < 3;
+        });
+        assertEquals(List.of(4990L, 4980L, 4970L), visited);
+
+        visited.clear();
+        set.forEachDescendingBelow(0, key -> visited.add(key));
+        assertTrue(visited.isEmpty());
+    }
+
+    @Test
+    void becomesEmptyAfterRemovingEveryKey() {
+        SortedLongSet set = new SortedLongSet();
+        for (long key = 0; key < 1500; key++) {
+            set.add(key);
+        }
+        assertFalse(set.add(700));
+        for (long key = 1499; key >= 0; key--) {
+            assertTrue(set.remove(key));
+        }
+        assertFalse(set.remove(0));
+        assertTrue(set.isEmpty());
+        assertTrue(ascending(set).isEmpty());
+
+        // 빈 뒤에도 다시 쓸 수 있어야 함
+        set.add(7);
+        assertEquals(List.of(7L), ascending(set));
+    }
+
+    private static List<Long> ascending(SortedLongSet set) {
+        List<Long> keys = new ArrayList<>();
+        set.forEachAscending(keys::add);
+        return keys;
+    }
+
+    private static List<Long> descending(SortedLongSet set) {
+        List<Long> keys = new ArrayList<>();
+        set.forEachDescending(keys::add);
+        return keys;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.apipractice.util;
+
+import com.example.apipractice.util.WindowedLeaderboard.Window;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WindowedLeaderboardTest {
+
+    // 테스트에서 날짜를 옮길 수 있는 시계
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        void setDate(LocalDate date) {
+            instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    @Test
+    void windowsRollOverAtDayWeekMonthAndSeasonBoundaries() {
+        MutableClock clock = new MutableClock(LocalDate.of(2025, 3, 26)); // 수요일, 1분기 (3개월 시즌)
+        WindowedLeaderboard board = new WindowedLeaderboard(3, clock);
+        board.add(1, day(2025, 3, 26), 30, 1);
+        board.add(2, day(2025, 3, 24), 50, 1);  // 이번 주 월요일
+        board.add(3, day(2025, 3, 3), 100, 1);  // 이번 달
+        board.add(4, day(2025, 1, 15), 200, 1); // 이번 시즌
+        board.add(5, day(2024, 12, 31), 500, 1); // 지난 시즌 - 보관하지 않음
+
+        assertEquals("{1=30}", ranking(board, Window.DAY));
+        assertEquals("{2=50, 1=30}", ranking(board, Window.WEEK));
+        assertEquals("{3=100, 2=50, 1=30}", ranking(board, Window.MONTH));
+        assertEquals("{4=200, 3=100, 2=50, 1=30}", ranking(board, Window.SEASON));
+        assertEquals(2, board.rankOf(Window.SEASON, 3));
+        assertEquals(0, board.rankOf(Window.SEASON, 5));
+
+        // 다음 날 - 오늘만 비고 주간은 그대로
+        clock.setDate(LocalDate.of(2025, 3, 27));
+        assertEquals("{}", ranking(board, Window.DAY));
+        assertEquals(0, board.rankOf(Window.DAY, 1));
+        assertEquals("{2=50, 1=30}", ranking(board, Window.WEEK));
+
+        // 다음 주 월요일 - 주간이 넘어가고 월간은 아직 3월
+        clock.setDate(LocalDate.of(2025, 3, 31));
+        assertEquals("{}", ranking(board, Window.WEEK));
+        assertEquals("{3=100, 2=50, 1=30}", ranking(board, Window.MONTH));
+        board.add(2, day(2025, 3, 31), 7, 1);
+
+        // 4월 - 월간과 시즌이 새로 시작, 같은 주의 3월 31일 경기는 주간에 남음
+        clock.setDate(LocalDate.of(2025, 4, 1));
+        board.add(1, day(2025, 4, 1), 5, 1);
+        assertEquals("{1=5}", ranking(board, Window.DAY));
+        assertEquals("{2=7, 1=5}", ranking(board, Window.WEEK));
+        assertEquals("{1=5}", ranking(board, Window.MONTH));
+        assertEquals("{1=5}", ranking(board, Window.SEASON));
+
+        // 경기를 빼면 모든 기간에서 빠짐
+        board.add(1, day(2025, 4, 1), 5, -1);
+        assertEquals("{}", ranking(board, Window.DAY));
+        assertEquals("{2=7}", ranking(board, Window.WEEK));
+        assertEquals("{}", ranking(board, Window.SEASON));
+    }
+
+    @Test
+    void lastSeasonEndsAtYearEndWhenMonthsDoNotDivideTheYear() {
+        // 5개월 시즌: 1~5월, 6~10월, 11~12월
+        MutableClock clock = new MutableClock(LocalDate.of(2025, 11, 10));
+        WindowedLeaderboard board = new WindowedLeaderboard(5, clock);
+        board.add(1, day(2025, 10, 31), 10, 1);
+        board.add(2, day(2025, 11, 1), 20, 1);
+        board.add(3, day(2025, 12, 31), 30, 1);
+        assertEquals("{3=30, 2=20}", ranking(board, Window.SEASON));
+
+        // 새해 - 첫 시즌이 새로 시작
+        clock.setDate(LocalDate.of(2026, 1, 1));
+        assertEquals("{}", ranking(board, Window.SEASON));
+    }
+
+    @Test
+    void rangeSkipsOffsetAndParseRejectsUnknownWindow() {
+        WindowedLeaderboard board = new WindowedLeaderboard(3, new MutableClock(LocalDate.of(2025, 6, 15)));
+        for (int id = 1; id <= 5; id++) {
+            board.add(id, day(2025, 6, 15), id * 10L, 1);
+        }
+        assertEquals("{3=30, 2=20}", board.range(Window.DAY, 2, 2).toString());
+        assertEquals(Window.WEEK, Window.parse("Week"));
+        assertThrows(IllegalArgumentException.class, () -> Window.parse("year"));
+        assertThrows(IllegalArgumentException.class, () -> new WindowedLeaderboard(13));
+    }
+
+    private static String ranking(WindowedLeaderboard board, Window window) {
+        return board.range(window, 0, 10).toString();
+    }
+
+    private static int day(int year, int month, int dayOfMonth) {
+        return (int) LocalDate.of(year, month, dayOfMonth).toEpochDay();
+    }
+}